@@ -0,0 +1,47 @@
+package benchmarks;
+
+import core_algorithms.Individual;
+import optimization_problems.TSP;
+import optimization_solutions.GeneticAlgorithm_TSP;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generations per second of GeneticAlgorithm_TSP, in the generational and steady-state modes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GeneticAlgorithmBenchmark {
+
+    @Param({"100", "1000"})
+    public int populationSize;
+
+    @Param({"17", "26"})
+    public int numCities;
+
+    @Param({"false", "true"})
+    public boolean steadyState;
+
+    private GeneticAlgorithm_TSP agent;
+    private List<Individual<Integer>> population;
+
+    @Setup(Level.Trial)
+    public void createAgent() {
+        agent = new GeneticAlgorithm_TSP(1, 0.05, 0.2, steadyState, new TSP(numCities));
+    }
+
+    //start every iteration from a random population, so that it is not measured converged
+    @Setup(Level.Iteration)
+    public void createPopulation() {
+        population = agent.generateInitPopulation(populationSize, numCities);
+    }
+
+    @Benchmark
+    public List<Individual<Integer>> generation() {
+        population = agent.nextGeneration(population);
+        return population;
+    }
+}
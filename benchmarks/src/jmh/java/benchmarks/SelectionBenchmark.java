@@ -0,0 +1,73 @@
+package benchmarks;
+
+import core_algorithms.Individual;
+import core_algorithms.Replacement;
+import optimization_problems.TSP;
+import optimization_solutions.GeneticAlgorithm_TSP;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parent selection, replacement, crossover and mutation of GeneticAlgorithm_TSP.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SelectionBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int populationSize;
+
+    @Param({"26"})
+    public int numCities;
+
+    private GeneticAlgorithm_TSP agent;
+    private List<Individual<Integer>> population;
+    private Individual<Integer> p1;
+    private Individual<Integer> p2;
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void createPopulation() {
+        agent = new GeneticAlgorithm_TSP(1, 0.05, 0.2, new TSP(numCities));
+        population = agent.generateInitPopulation(populationSize, numCities);
+        p1 = population.get(0);
+        p2 = population.get(1);
+    }
+
+    @Benchmark
+    public Individual<Integer> selectAParent() {
+        return agent.selectAParent(population);
+    }
+
+    //keeping the fittest 20%, as evolve() does for the elites
+    @Benchmark
+    public List<Individual<Integer>> selectFittest() {
+        List<Individual<Integer>> copy = new ArrayList<>(population);
+        Replacement.selectFittest(copy, populationSize / 5, random);
+        return copy;
+    }
+
+    //what evolve() did before partial selection, for comparison
+    @Benchmark
+    public List<Individual<Integer>> sort() {
+        List<Individual<Integer>> copy = new ArrayList<>(population);
+        Collections.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public Individual<Integer> reproduce() {
+        return agent.reproduce(p1, p2);
+    }
+
+    @Benchmark
+    public Individual<Integer> mutate() {
+        return agent.mutate(p1);
+    }
+}
@@ -0,0 +1,49 @@
+package benchmarks;
+
+import core_algorithms.Problem;
+import core_algorithms.SimulatedAnnealing;
+import optimization_problems.TSP;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Iterations per second of SimulatedAnnealing on each TSP sample.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SimulatedAnnealingBenchmark {
+    private static final int ITERATIONS = 100_000;
+
+    @Param({"5", "6", "17", "26"})
+    public int size;
+
+    private TSP problem;
+
+    /**
+     * Runs exactly ITERATIONS iterations with a geometric cooling schedule.
+     */
+    static class FixedLengthAnnealing extends SimulatedAnnealing<List<Integer>> {
+        FixedLengthAnnealing(Problem<List<Integer>> p) {
+            super(0, 1e4, p);
+        }
+
+        public double schedule(long time, double temp) {
+            return time >= ITERATIONS ? 0 : temp * 0.9999;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void createProblem() {
+        problem = new TSP(size);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public List<Integer> iterations() {
+        //anneal() rather than search(), which prints its result
+        return new FixedLengthAnnealing(problem).anneal();
+    }
+}
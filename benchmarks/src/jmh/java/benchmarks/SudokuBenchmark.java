@@ -0,0 +1,52 @@
+package benchmarks;
+
+import csp_problems.Sudoku;
+import csp_solutions.BacktrackingSearch_Sudoku;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AC-3 and end-to-end solve time of BacktrackingSearch_Sudoku on each test case.
+ * The test cases are read from the directory given by the sudoku.dir system property
+ * (set by benchmarks/build.gradle), or from src/SudokuTestCases when the benchmark jar
+ * is run from the project root.
+ * Note that revise() and selectUnassigned() in BacktrackingSearch_Sudoku are still TODO
+ * stubs: AC-3 removes nothing and the search assigns nothing, so until they are written
+ * these numbers mostly measure building the arcs and, for solve(), parsing the puzzle file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SudokuBenchmark {
+
+    @Param({"TestCase1.txt", "TestCase2.txt", "TestCase3.txt", "TestCase4.txt", "TestCase5.txt",
+            "TestCase6.txt", "TestCase7.txt", "TestCase8.txt", "TestCase9.txt", "TestCase10.txt"})
+    public String testCase;
+
+    private String filename;
+    private BacktrackingSearch_Sudoku agent;
+
+    @Setup(Level.Trial)
+    public void locateTestCase() {
+        filename = System.getProperty("sudoku.dir", "src/SudokuTestCases") + "/" + testCase;
+    }
+
+    //AC-3 modifies the domains, so every invocation needs a fresh puzzle
+    @Setup(Level.Invocation)
+    public void loadPuzzle() {
+        agent = new BacktrackingSearch_Sudoku(new Sudoku(filename));
+    }
+
+    @Benchmark
+    public boolean initAC3() {
+        return agent.initAC3();
+    }
+
+    //includes loading the puzzle, as in BacktrackingSearch_Sudoku.main()
+    @Benchmark
+    public boolean solve() {
+        BacktrackingSearch_Sudoku solver = new BacktrackingSearch_Sudoku(new Sudoku(filename));
+        return solver.initAC3() && solver.search();
+    }
+}
@@ -0,0 +1,75 @@
+package benchmarks;
+
+import optimization_problems.TSP;
+import optimization_problems.TourCostKernel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring a population of tours: one TSP.cost() call per tour, TSP.batchCost(),
+ * and the scalar and dispatched (Vector API if available) kernels on prepacked tours.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TourCostBenchmark {
+
+    @Param({"17", "26"})
+    public int numCities;
+
+    @Param({"1000"})
+    public int batchSize;
+
+    private TSP problem;
+    private List<List<Integer>> states;
+    private int[] distances;
+    private int[] tours;
+    private double[] costs;
+
+    @Setup(Level.Trial)
+    public void createTours() {
+        problem = new TSP(numCities);
+        distances = TourCostKernel.flatten(problem.getDistanceMatrix());
+        states = new ArrayList<>(batchSize);
+        tours = new int[batchSize * numCities];
+        for (int t = 0; t < batchSize; t++) {
+            List<Integer> tour = new ArrayList<>(problem.getInitState());
+            Collections.shuffle(tour);
+            states.add(tour);
+            for (int i = 0; i < numCities; i++) {
+                tours[t * numCities + i] = tour.get(i);
+            }
+        }
+        costs = new double[batchSize];
+    }
+
+    @Benchmark
+    public double[] costPerTour() {
+        for (int t = 0; t < batchSize; t++) {
+            costs[t] = problem.cost(states.get(t));
+        }
+        return costs;
+    }
+
+    @Benchmark
+    public double[] batchCost() {
+        problem.batchCost(states, costs);
+        return costs;
+    }
+
+    @Benchmark
+    public double[] scalarKernel() {
+        TourCostKernel.scalarCosts(distances, numCities, tours, batchSize, costs);
+        return costs;
+    }
+
+    @Benchmark
+    public double[] kernel() {
+        TourCostKernel.costs(distances, numCities, tours, batchSize, costs);
+        return costs;
+    }
+}
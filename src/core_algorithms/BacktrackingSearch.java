@@ -65,11 +65,14 @@ public abstract class BacktrackingSearch <X, V> {
      * An implementation of the AC-3 algorithm; see textbook, Figure 6.3 on page 186
      * Note that the revise() is a separate method that you will need to
      * implement in BacktrackingSearch_Sudoku.java
+     * AC3 should revise each arc through reviseArc(), which counts the revisions in
+     * SearchMetrics; until AC3 is implemented, the revisions counter stays at 0.
      * @param arcs the list of arcs for which consistency will be maintained
      * @return false if consistency could not be maintained, true otherwise
      */
     public boolean AC3(Queue<Arc<X>> arcs){
-        //TODO
+        SearchMetrics.arcs(arcs.size());
+        //TODO (call reviseArc(arc) rather than revise() for each arc taken off the queue)
         return true;
     }
 
@@ -91,15 +94,18 @@ public abstract class BacktrackingSearch <X, V> {
 
     /**
      * An implementation of the backtracking search with maintaining arc consistency (MAC)
+     * The search gives up (returns false) if the thread is interrupted.
      * @return
      */
     public boolean search(){
+        if(Thread.currentThread().isInterrupted()){
+            return false;
+        }
         X n = selectUnassigned();
         if(n == null){
             return true;
         }
         assigned.add(n);
-       // System.out.println(n+", "+assigned.size());
         while(!allVariables.get(n).domain().isEmpty()) {
             //select a value to be assigned to this variable
             V value = allVariables.get(n).domain().remove(0);
@@ -109,6 +115,7 @@ public abstract class BacktrackingSearch <X, V> {
             //assign the selected 'value' to the variable n
             allVariables.get(n).domain().clear();
             allVariables.get(n).domain().add(value);
+            SearchMetrics.node();
             Queue<Arc<X>> arcs = new LinkedList<>();
             //get all the arcs that could potentially be affected by this assignment
             // i.e., all the arcs where n is the head.
@@ -119,11 +126,10 @@ public abstract class BacktrackingSearch <X, V> {
             if (AC3(arcs) && search()) {
                 return true;
             } else {
-                //System.out.println(n+" reverting");
+                SearchMetrics.backtrack();
                 revert(allVariablesClone);
             }
         }
-       // System.out.println(n+" failed");
         assigned.remove(n);
         return false;
     }
@@ -164,6 +170,19 @@ public abstract class BacktrackingSearch <X, V> {
         return assigned.contains(name);
     }
 
+    /**
+     * Revise an arc with revise(), counting it in SearchMetrics if the tail lost values.
+     * @param arc the arc to be revised
+     * @return true if the tail has been revised, as returned by revise()
+     */
+    protected boolean reviseArc(Arc<X> arc){
+        if(revise(arc.head(), arc.tail())){
+            SearchMetrics.revision();
+            return true;
+        }
+        return false;
+    }
+
     //the two abstract methods below should be implemented in BacktrackingSearch_Sudoku.java
     public abstract boolean revise(X head, X tail);
 
@@ -0,0 +1,162 @@
+package core_algorithms;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes checkpoints of a long search to a file, off the search thread.
+ * A checkpoint is written to a temporary file, forced to disk, and then moved over the
+ * previous one, so the file always holds a complete checkpoint even if the process dies
+ * while writing. If the search produces checkpoints faster than they can be written,
+ * only the most recent pending one is kept.
+ */
+public class Checkpointer implements Closeable {
+
+    /**
+     * The content of a checkpoint. The search thread must only capture values that it will
+     * not modify afterwards, since writeTo() runs later on the writer thread.
+     */
+    public interface Snapshot {
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+
+    private final Path file;
+    private final Path tmp;
+    private final ThreadPoolExecutor writer;
+
+    public Checkpointer(Path file) {
+        this.file = file;
+        this.tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), r -> {
+                    Thread t = new Thread(r, "checkpoint-writer");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.DiscardOldestPolicy());
+    }
+
+    public void save(Snapshot snapshot) {
+        writer.execute(() -> {
+            try {
+                write(snapshot);
+            } catch (IOException e) {
+                System.err.println("Unable to write checkpoint " + file + ": " + e);
+            }
+        });
+    }
+
+    private void write(Snapshot snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel)));
+            snapshot.writeTo(out);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        //make the rename itself durable (not supported on every platform)
+        Path dir = file.toAbsolutePath().getParent();
+        try (FileChannel d = FileChannel.open(dir, StandardOpenOption.READ)) {
+            d.force(true);
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * @return a stream over the last checkpoint, or null if there is none
+     */
+    public DataInputStream open() throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+    }
+
+    /**
+     * Wait until the pending checkpoint (if any) has been written, even if the thread
+     * is interrupted (as when a search is cancelled), so that the final checkpoint is kept.
+     */
+    public void close() {
+        writer.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                writer.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * java.util.Random does not expose its seed, but it is serializable;
+     * these two methods save and restore its exact state.
+     */
+    public static byte[] randomState(Random random) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(random);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    //a checkpoint file may come from anywhere, so nothing but a Random is deserialized from it
+    private static final ObjectInputFilter RANDOM_ONLY =
+            ObjectInputFilter.Config.createFilter("java.util.Random;maxdepth=1;!*");
+
+    public static Random restoreRandom(byte[] state) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(state))) {
+            in.setObjectInputFilter(RANDOM_ONLY);
+            return (Random) in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("invalid random state", e);
+        }
+    }
+
+    public static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    //far more than a serialized Random (about 100 bytes) needs
+    static final int MAX_BYTES = 1 << 16;
+
+    /**
+     * Lengths and counts come from the file, so they are checked before anything is
+     * allocated for them; a corrupted file fails with an IOException instead.
+     */
+    public static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_BYTES) {
+            throw new IOException("invalid length in checkpoint: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    //the elements are read one at a time, so a list is never sized up front from the count
+    public static int readCount(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("invalid count in checkpoint: " + count);
+        }
+        return count;
+    }
+}
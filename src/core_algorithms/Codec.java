@@ -0,0 +1,51 @@
+package core_algorithms;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes values of type T to (and reads them back from) a checkpoint file.
+ *
+ * @param <T> the type of the values
+ */
+public interface Codec<T> {
+    void write(DataOutput out, T value) throws IOException;
+
+    T read(DataInput in) throws IOException;
+
+    Codec<Integer> INT = new Codec<>() {
+        public void write(DataOutput out, Integer value) throws IOException {
+            out.writeInt(value);
+        }
+
+        public Integer read(DataInput in) throws IOException {
+            return in.readInt();
+        }
+    };
+
+    /**
+     * @return a codec for lists of values (e.g., chromosomes, or TSP tours with listOf(INT))
+     */
+    static <T> Codec<List<T>> listOf(Codec<T> element) {
+        return new Codec<>() {
+            public void write(DataOutput out, List<T> list) throws IOException {
+                out.writeInt(list.size());
+                for (T value : list) {
+                    element.write(out, value);
+                }
+            }
+
+            public List<T> read(DataInput in) throws IOException {
+                int size = Checkpointer.readCount(in);
+                List<T> list = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    list.add(element.read(in));
+                }
+                return list;
+            }
+        };
+    }
+}
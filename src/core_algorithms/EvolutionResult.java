@@ -0,0 +1,20 @@
+package core_algorithms;
+
+import java.util.List;
+
+/**
+ * The outcome of GeneticAlgorithm.evolve().
+ *
+ * @param best the fittest individual found during the run
+ * @param generations the number of generations that were run
+ * @param bestFitnessTrajectory the best fitness found so far, after each generation
+ * @param stopReason why the run stopped
+ * @param <G> the data type of a gene
+ */
+public record EvolutionResult<G>(Individual<G> best, int generations,
+                                 List<Double> bestFitnessTrajectory, StopReason stopReason) {
+
+    public enum StopReason {
+        MAX_GEN, NO_IMPROVEMENT, TARGET_REACHED, TIME_BUDGET, DIVERSITY_COLLAPSE
+    }
+}
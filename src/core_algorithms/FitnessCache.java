@@ -0,0 +1,111 @@
+package core_algorithms;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A bounded, thread-safe cache of fitness scores, keyed by a 64-bit hash of the chromosome
+ * (e.g., a Zobrist hash, see optimization_problems.TourHash).
+ * The cache is a direct-mapped table: each hash maps to exactly one slot, and a new entry
+ * simply overwrites whatever was in its slot. Reads and writes are lock-free, so one cache
+ * can be shared by the islands of an IslandModel.
+ * Two chromosomes with the same 64-bit hash are considered equal.
+ *
+ * @param <G> the data type of a gene
+ */
+public class FitnessCache<G> {
+
+    private record Entry(long key, double fitness) {
+    }
+
+    private final AtomicReferenceArray<Entry> table;
+    private final int mask;
+    private final ToLongFunction<List<G>> hasher;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param capacity maximum number of entries (rounded up to a power of two)
+     * @param hasher computes the key of a chromosome
+     */
+    public FitnessCache(int capacity, ToLongFunction<List<G>> hasher) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.table = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.hasher = hasher;
+    }
+
+    public ToLongFunction<List<G>> getHasher() {
+        return hasher;
+    }
+
+    /**
+     * @return the key under which the fitness of the chromosome is cached
+     */
+    public long key(List<G> chromosome) {
+        return hasher.applyAsLong(chromosome);
+    }
+
+    /**
+     * Look up the fitness of the chromosome, computing and caching it on a miss.
+     * @param chromosome the chromosome to evaluate
+     * @param fitness the (expensive) fitness function
+     * @return the fitness score of the chromosome
+     */
+    public double get(List<G> chromosome, ToDoubleFunction<List<G>> fitness) {
+        return get(key(chromosome), chromosome, fitness);
+    }
+
+    /**
+     * Same as get(chromosome, fitness), for a chromosome whose key is already known
+     * (e.g., updated incrementally from the key of its parent).
+     * @param key the key of the chromosome, as returned by key()
+     */
+    public double get(long key, List<G> chromosome, ToDoubleFunction<List<G>> fitness) {
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        Entry e = table.get(slot);
+        if (e != null && e.key() == key) {
+            hits.increment();
+            return e.fitness();
+        }
+        misses.increment();
+        double f = fitness.applyAsDouble(chromosome);
+        table.set(slot, new Entry(key, f));
+        return f;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the fraction of lookups answered from the cache (0 if there was none)
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return "FitnessCache{" +
+                "hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", hitRate=" + getHitRate() +
+                '}';
+    }
+}
@@ -1,9 +1,17 @@
 package core_algorithms;
 
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 
 /**
  * implement elements that are independent of any specific problem
@@ -13,41 +21,459 @@ public abstract class GeneticAlgorithm<G> {
     private final int MAX_GEN;
     private final double MUTATION_RATE;
     private final double ELITISM;
+    //if true, children replace the worst individuals one at a time
+    //instead of building a whole new generation
+    private final boolean STEADY_STATE;
+
+    //optional; when set, newIndividual() looks fitness scores up in this cache first
+    private FitnessCache<G> fitnessCache;
+    //if true, children identical to an individual already in the population are dropped
+    private boolean eliminateDuplicates;
+
+    private StoppingCriteria stoppingCriteria = StoppingCriteria.NONE;
+    //adaptive mutation: below this diversity, the mutation rate is raised toward maxMutationRate
+    //(0: disabled, the mutation rate stays at MUTATION_RATE)
+    private double targetDiversity;
+    private double maxMutationRate;
+    //the mutation rate used for the current generation
+    private double mutationRate;
+
+    private Random random = new Random();
+
+    //optional periodic checkpoints (null if disabled)
+    private Path checkpointFile;
+    private int checkpointInterval;
+    private Codec<List<G>> chromosomeCodec;
+    //identifies a genetic algorithm checkpoint file ("GAC1")
+    private static final int CHECKPOINT_MAGIC = 0x47414331;
 
     public GeneticAlgorithm(int maxGen, double mRate, double elitism) {
+        this(maxGen, mRate, elitism, false);
+    }
+
+    public GeneticAlgorithm(int maxGen, double mRate, double elitism, boolean steadyState) {
         this.MAX_GEN = maxGen;
         this.MUTATION_RATE = mRate;
         this.ELITISM = elitism;
+        this.STEADY_STATE = steadyState;
+        this.mutationRate = mRate;
     }
 
-    public Individual<G> evolve(List<Individual<G>> initPopulation) {
+    /**
+     * Lets the caller of evolve() act on the population after each generation
+     * (e.g., the islands of an IslandModel exchange migrants).
+     */
+    public interface GenerationHook<G> {
+        /**
+         * Called after the next generation is built, before the best individual is updated
+         * and the stopping criteria are checked.
+         * @param generation the number of the generation just built (from 1)
+         * @param population the generation just built
+         * @return the population to carry on with (population itself, or a modified copy)
+         */
+        List<Individual<G>> afterGeneration(int generation, List<Individual<G>> population);
+    }
+
+    /**
+     * Evolve the population for at most MAX_GEN generations, stopping earlier if one of
+     * the stopping criteria is met, and adapting the mutation rate to the diversity of
+     * the population if adaptive mutation is enabled.
+     * @param initPopulation the initial population
+     * @return the best individual, the number of generations and the best fitness after each one
+     */
+    public EvolutionResult<G> evolve(List<Individual<G>> initPopulation) {
+        return evolve(initPopulation, (generation, population) -> population);
+    }
+
+    /**
+     * Same as evolve(initPopulation), calling hook after each generation.
+     * @return the best individual ever found (which may have come from the hook),
+     *         the number of generations and the best fitness after each one
+     */
+    public EvolutionResult<G> evolve(List<Individual<G>> initPopulation, GenerationHook<G> hook) {
+        long deadline = System.nanoTime() + stoppingCriteria.timeBudgetMillis() * 1_000_000;
+        boolean needsDiversity = stoppingCriteria.minDiversity() > 0 || targetDiversity > 0;
         List<Individual<G>> population = initPopulation;
-        for (int generation = 1; generation <= MAX_GEN; generation++) {
-            List<Individual<G>> offspring = new ArrayList<>();
-            for (int i = 0; i < population.size(); i++) {
-                Individual<G> p1 = selectAParent(population);
-                Individual<G> p2 = selectAParent(population, p1);
-                Individual<G> child = reproduce(p1, p2);
-                if (new Random().nextDouble() <= MUTATION_RATE) {
-                    child = mutate(child);
+        //set when resuming from a checkpoint (which may come with an empty initPopulation)
+        Individual<G> best = null;
+        List<Double> trajectory = new ArrayList<>();
+        int lastImprovement = 0;
+        int generation = 0;
+        EvolutionResult.StopReason stopReason = EvolutionResult.StopReason.MAX_GEN;
+        mutationRate = MUTATION_RATE;
+        Checkpointer checkpointer = checkpointFile == null ? null : new Checkpointer(checkpointFile);
+        try {
+            if (checkpointer != null) {
+                try (DataInputStream in = checkpointer.open()) {
+                    if (in != null) {
+                        if (in.readInt() != CHECKPOINT_MAGIC) {
+                            throw new IOException("not a genetic algorithm checkpoint");
+                        }
+                        int stopped = in.readInt();
+                        if (stopped < -1 || stopped >= EvolutionResult.StopReason.values().length) {
+                            throw new IOException("invalid stop reason in checkpoint: " + stopped);
+                        }
+                        generation = in.readInt();
+                        lastImprovement = in.readInt();
+                        mutationRate = in.readDouble();
+                        best = readIndividual(in);
+                        int generations = Checkpointer.readCount(in);
+                        trajectory = new ArrayList<>();
+                        for (int i = 0; i < generations; i++) {
+                            trajectory.add(in.readDouble());
+                        }
+                        int size = Checkpointer.readCount(in);
+                        population = new ArrayList<>();
+                        for (int i = 0; i < size; i++) {
+                            population.add(readIndividual(in));
+                        }
+                        random = Checkpointer.restoreRandom(Checkpointer.readBytes(in));
+                        if (stopped >= 0) {
+                            return new EvolutionResult<>(best, generation, trajectory,
+                                    EvolutionResult.StopReason.values()[stopped]);
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("unable to resume from the checkpoint", e);
                 }
-                offspring.add(child);
             }
-            Collections.sort(population);
-            Collections.sort(offspring);
-            List<Individual<G>> newPopulation = new ArrayList<>();
-            int e = (int) (ELITISM * population.size());
-            for (int i = 0; i < e; i++) {
-                newPopulation.add(population.get(i));
+            if (best == null) {
+                best = Replacement.fittest(population);
+            }
+            while (generation < MAX_GEN) {
+                generation++;
+                population = hook.afterGeneration(generation, nextGeneration(population));
+                Individual<G> generationBest = Replacement.fittest(population);
+                if (generationBest.getFitnessScore() > best.getFitnessScore()) {
+                    best = generationBest;
+                    lastImprovement = generation;
+                }
+                trajectory.add(best.getFitnessScore());
+                double diversity = needsDiversity || SearchMetrics.ENABLED ? diversity(population) : 1;
+                adaptMutationRate(diversity);
+                if (SearchMetrics.ENABLED) {
+                    SearchMetrics.generation(generation, best.getFitnessScore(),
+                            meanFitness(population), diversity);
+                }
+
+                EvolutionResult.StopReason reason =
+                        checkStop(best, generation - lastImprovement, diversity, deadline);
+                if (reason != null) {
+                    stopReason = reason;
+                    break;
+                }
+                if (checkpointer != null && generation % checkpointInterval == 0) {
+                    saveCheckpoint(checkpointer, null, generation, lastImprovement, best, trajectory, population);
+                }
+            } // end of outer loop
+
+            if (checkpointer != null) {
+                saveCheckpoint(checkpointer, stopReason, generation, lastImprovement, best, trajectory, population);
+            }
+            return new EvolutionResult<>(best, generation, trajectory, stopReason);
+        } finally {
+            if (checkpointer != null) {
+                checkpointer.close();
+            }
+        }
+    }
+
+    //capture the progress now; it is written to the file on the checkpoint thread
+    private void saveCheckpoint(Checkpointer checkpointer, EvolutionResult.StopReason stopReason,
+                                int generation, int lastImprovement, Individual<G> best,
+                                List<Double> trajectory, List<Individual<G>> population) {
+        double rate = mutationRate;
+        List<Double> bestFitness = new ArrayList<>(trajectory);
+        List<Individual<G>> individuals = new ArrayList<>(population);
+        byte[] randomState = Checkpointer.randomState(random);
+        checkpointer.save(out -> {
+            out.writeInt(CHECKPOINT_MAGIC);
+            //a run that only ran out of generations can be resumed with a larger MAX_GEN
+            out.writeInt(stopReason == null || stopReason == EvolutionResult.StopReason.MAX_GEN
+                    ? -1 : stopReason.ordinal());
+            out.writeInt(generation);
+            out.writeInt(lastImprovement);
+            out.writeDouble(rate);
+            out.writeDouble(best.getFitnessScore());
+            chromosomeCodec.write(out, best.getChromosome());
+            out.writeInt(bestFitness.size());
+            for (double f : bestFitness) {
+                out.writeDouble(f);
+            }
+            out.writeInt(individuals.size());
+            for (Individual<G> i : individuals) {
+                out.writeDouble(i.getFitnessScore());
+                chromosomeCodec.write(out, i.getChromosome());
+            }
+            Checkpointer.writeBytes(out, randomState);
+        });
+    }
+
+    private Individual<G> readIndividual(DataInputStream in) throws IOException {
+        double fitness = in.readDouble();
+        List<G> chromosome = chromosomeCodec.read(in);
+        if (fitnessCache == null) {
+            return new Individual<>(chromosome, fitness);
+        }
+        return new Individual<>(chromosome, fitness, fitnessCache.key(chromosome));
+    }
+
+    /**
+     * @return the average fitness score of the population
+     */
+    private double meanFitness(List<Individual<G>> population) {
+        double sum = 0;
+        for (Individual<G> i : population) {
+            sum += i.getFitnessScore();
+        }
+        return sum / population.size();
+    }
+
+    //return the first stopping criterion that is met, or null if the run should go on
+    private EvolutionResult.StopReason checkStop(Individual<G> best, int generationsWithoutImprovement,
+                                                 double diversity, long deadline) {
+        if (best.getFitnessScore() >= stoppingCriteria.targetFitness()) {
+            return EvolutionResult.StopReason.TARGET_REACHED;
+        }
+        if (stoppingCriteria.noImprovementWindow() > 0
+                && generationsWithoutImprovement >= stoppingCriteria.noImprovementWindow()) {
+            return EvolutionResult.StopReason.NO_IMPROVEMENT;
+        }
+        if (diversity < stoppingCriteria.minDiversity()) {
+            return EvolutionResult.StopReason.DIVERSITY_COLLAPSE;
+        }
+        if (stoppingCriteria.timeBudgetMillis() > 0 && System.nanoTime() - deadline >= 0) {
+            return EvolutionResult.StopReason.TIME_BUDGET;
+        }
+        return null;
+    }
+
+    /**
+     * @return the fraction of distinct chromosomes in the population, between 0 and 1
+     *         (chromosomes are compared as in setEliminateDuplicates())
+     */
+    public double diversity(List<Individual<G>> population) {
+        Set<Object> distinct = new HashSet<>();
+        for (Individual<G> i : population) {
+            distinct.add(duplicateKey(i));
+        }
+        return (double) distinct.size() / population.size();
+    }
+
+    //raise the mutation rate linearly from MUTATION_RATE (at the target diversity)
+    //to maxMutationRate (when all chromosomes are the same)
+    private void adaptMutationRate(double diversity) {
+        if (targetDiversity <= 0) {
+            return;
+        }
+        if (diversity >= targetDiversity) {
+            mutationRate = MUTATION_RATE;
+        } else {
+            mutationRate = MUTATION_RATE
+                    + (maxMutationRate - MUTATION_RATE) * (1 - diversity / targetDiversity);
+        }
+    }
+
+    /**
+     * The source of randomness of the algorithm; subclasses should use it in reproduce()
+     * and mutate() so that a seeded run (or one resumed from a checkpoint) is reproducible.
+     */
+    protected Random getRandom() {
+        return random;
+    }
+
+    public void setSeed(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Save the progress of evolve() to a file every checkpointInterval generations (and at
+     * the end), so that it can resume after the process is stopped.
+     * If the file already exists when evolve() starts, the population, fitness scores,
+     * generation count, mutation rate and random state are restored from it (and the initial
+     * population is ignored); resuming a seeded run reproduces the run that was interrupted.
+     * Chromosomes must not be modified once created, since they are written by another thread.
+     * @param file the checkpoint file
+     * @param checkpointInterval number of generations between two checkpoints (positive)
+     * @param geneCodec writes and reads genes (e.g., Codec.INT)
+     */
+    public void setCheckpoint(Path file, int checkpointInterval, Codec<G> geneCodec) {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("checkpointInterval must be positive");
+        }
+        this.checkpointFile = file;
+        this.checkpointInterval = checkpointInterval;
+        this.chromosomeCodec = Codec.listOf(geneCodec);
+    }
+
+    public double getMutationRate() {
+        return mutationRate;
+    }
+
+    public void setStoppingCriteria(StoppingCriteria stoppingCriteria) {
+        this.stoppingCriteria = stoppingCriteria;
+    }
+
+    /**
+     * Enable adaptive mutation: whenever the diversity of the population (see diversity())
+     * is below targetDiversity, the mutation rate grows from MUTATION_RATE up to maxMutationRate.
+     * @param targetDiversity diversity below which the mutation rate is raised (0 disables it)
+     * @param maxMutationRate mutation rate used when all chromosomes are the same
+     */
+    public void setAdaptiveMutation(double targetDiversity, double maxMutationRate) {
+        this.targetDiversity = targetDiversity;
+        this.maxMutationRate = maxMutationRate;
+    }
+
+    public FitnessCache<G> getFitnessCache() {
+        return fitnessCache;
+    }
+
+    public void setFitnessCache(FitnessCache<G> fitnessCache) {
+        this.fitnessCache = fitnessCache;
+    }
+
+    /**
+     * If enabled, offspring identical to an elite or to an earlier child are only used
+     * when there are not enough distinct children to fill the next generation
+     * (generational mode), or are dropped (steady-state mode).
+     * Two chromosomes are identical if they have the same key in the fitness cache,
+     * or if they are equal when no fitness cache is set.
+     */
+    public void setEliminateDuplicates(boolean eliminateDuplicates) {
+        this.eliminateDuplicates = eliminateDuplicates;
+    }
+
+    /**
+     * Create an individual for a new chromosome, whose fitness score is looked up in the
+     * fitness cache (if any) before calling calcFitnessScore(). Subclasses should create
+     * individuals with this method rather than calling calcFitnessScore() directly.
+     * With a fitness cache, the key of the chromosome is computed once and kept in the
+     * individual, so that telling duplicates apart does not hash the chromosome again.
+     * @return the evaluated individual
+     */
+    protected Individual<G> newIndividual(List<G> chromosome) {
+        if (fitnessCache == null) {
+            return new Individual<>(chromosome, calcFitnessScore(chromosome));
+        }
+        return newIndividual(chromosome, fitnessCache.key(chromosome));
+    }
+
+    /**
+     * Same as newIndividual(chromosome), for a chromosome whose key in the fitness cache
+     * is already known (e.g., updated incrementally from the key of its parent).
+     * Must only be called when a fitness cache is set.
+     */
+    protected Individual<G> newIndividual(List<G> chromosome, long key) {
+        return new Individual<>(chromosome, fitnessCache.get(key, chromosome, this::calcFitnessScore), key);
+    }
+
+    /**
+     * Produce the next generation from the given population.
+     * In the generational mode, the fittest ELITISM fraction of the population is kept
+     * and the rest is filled with the fittest offspring; both are picked by partial
+     * selection rather than by sorting.
+     * In the steady-state mode, each child replaces the least fit individual right away
+     * (if it is fitter), so it can be selected as a parent by the next children;
+     * ELITISM is not used since the fittest individuals are never replaced.
+     * @param population the current generation
+     * @return the next generation, of the same size
+     */
+    public List<Individual<G>> nextGeneration(List<Individual<G>> population) {
+        if (STEADY_STATE) {
+            return nextGenerationSteadyState(population);
+        }
+        List<Individual<G>> offspring = new ArrayList<>();
+        for (int i = 0; i < population.size(); i++) {
+            offspring.add(makeChild(population));
+        }
+        int e = (int) (ELITISM * population.size());
+        //only the membership of the top e (resp. size - e) matters, not their order
+        population = new ArrayList<>(population);
+        Replacement.selectFittest(population, e, random);
+        int needed = population.size() - e;
+        if (eliminateDuplicates) {
+            int unique = moveUniqueToFront(population.subList(0, e), offspring);
+            if (unique >= needed) {
+                Replacement.selectFittest(offspring.subList(0, unique), needed, random);
+            } else {
+                //not enough distinct children: pad with the fittest duplicates
+                Replacement.selectFittest(offspring.subList(unique, offspring.size()), needed - unique, random);
+            }
+        } else {
+            Replacement.selectFittest(offspring, needed, random);
+        }
+        List<Individual<G>> newPopulation = new ArrayList<>(population.size());
+        for (int i = 0; i < e; i++) {
+            newPopulation.add(population.get(i));
+        }
+        for (int i = 0; i < population.size() - e; i++) {
+            newPopulation.add(offspring.get(i));
+        }
+        return newPopulation;
+    }
+
+    private List<Individual<G>> nextGenerationSteadyState(List<Individual<G>> population) {
+        PopulationHeap<G> heap = new PopulationHeap<>(population);
+        //number of copies of each chromosome in the population, if duplicates are eliminated
+        Map<Object, Integer> copies = new HashMap<>();
+        if (eliminateDuplicates) {
+            for (Individual<G> i : population) {
+                copies.merge(duplicateKey(i), 1, Integer::sum);
+            }
+        }
+        for (int i = 0; i < heap.size(); i++) {
+            Individual<G> child = makeChild(heap.population());
+            if (child.getFitnessScore() <= heap.worst().getFitnessScore()) {
+                continue;
             }
-            for (int i = 0; i < population.size() - e; i++) {
-                newPopulation.add(offspring.get(i));
+            if (eliminateDuplicates) {
+                Object key = duplicateKey(child);
+                if (copies.containsKey(key)) {
+                    continue;
+                }
+                copies.computeIfPresent(duplicateKey(heap.worst()), (k, c) -> c == 1 ? null : c - 1);
+                copies.put(key, 1);
             }
-            population = newPopulation;
-        } // end of outer for loop
+            heap.replaceWorst(child);
+        }
+        return heap.toList();
+    }
 
-        Collections.sort(population);
-        return population.get(0);
+    /**
+     * Rearrange the offspring so that the children that are not identical to a kept
+     * individual or to an earlier child come first.
+     * @return the number of such distinct children
+     */
+    private int moveUniqueToFront(List<Individual<G>> kept, List<Individual<G>> offspring) {
+        Set<Object> seen = new HashSet<>();
+        for (Individual<G> i : kept) {
+            seen.add(duplicateKey(i));
+        }
+        int unique = 0;
+        for (int i = 0; i < offspring.size(); i++) {
+            if (seen.add(duplicateKey(offspring.get(i)))) {
+                Collections.swap(offspring, unique++, i);
+            }
+        }
+        return unique;
+    }
+
+    private Object duplicateKey(Individual<G> individual) {
+        if (fitnessCache == null) {
+            return individual.getChromosome();
+        }
+        return individual.hasKey() ? individual.getKey() : fitnessCache.key(individual.getChromosome());
+    }
+
+    private Individual<G> makeChild(List<Individual<G>> population) {
+        Individual<G> p1 = selectAParent(population);
+        Individual<G> p2 = selectAParent(population, p1);
+        Individual<G> child = reproduce(p1, p2);
+        if (random.nextDouble() <= mutationRate) {
+            child = mutate(child);
+        }
+        return child;
     }
 
     public abstract Individual<G> reproduce(
@@ -69,7 +495,7 @@ public abstract class GeneticAlgorithm<G> {
             sumofValues.add(cumulativeSum);
 
         }
-        Double random = new Random().nextDouble(cumulativeSum);
+        Double random = this.random.nextDouble(cumulativeSum);
         for (int i = 0; i < sumofValues.size(); i++) {
             if (random <= sumofValues.get(i)) {
                 parent = population.get(i);
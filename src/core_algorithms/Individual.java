@@ -9,12 +9,21 @@ import java.util.List;
 public class Individual<G> implements Comparable<Individual<G>>{
     private List<G> chromosome;
     private double fitnessScore;
+    //the key of the chromosome in the fitness cache, if it was computed along with the fitness
+    private long key;
+    private boolean hasKey;
 
     public Individual(List<G> chromosome, double fitnessScore) {
         this.chromosome = chromosome;
         this.fitnessScore = fitnessScore;
     }
 
+    public Individual(List<G> chromosome, double fitnessScore, long key) {
+        this(chromosome, fitnessScore);
+        this.key = key;
+        this.hasKey = true;
+    }
+
     public List<G> getChromosome() {
         return chromosome;
     }
@@ -23,6 +32,15 @@ public class Individual<G> implements Comparable<Individual<G>>{
         return fitnessScore;
     }
 
+    public boolean hasKey() {
+        return hasKey;
+    }
+
+    //only meaningful if hasKey()
+    public long getKey() {
+        return key;
+    }
+
     @Override
     public String toString() {
         return "Individual{" +
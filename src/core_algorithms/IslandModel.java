@@ -0,0 +1,143 @@
+package core_algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * An island-model genetic algorithm: several populations (islands) evolve independently,
+ * each on its own thread, and every few generations each island sends copies of its
+ * fittest individuals to another island, where they replace the least fit ones.
+ * Migrants are handed off through lock-free queues, so islands never wait for each other.
+ * Each island runs GeneticAlgorithm.evolve() with its own GA, so the stopping criteria,
+ * adaptive mutation and checkpoints set on that GA apply to the island alone (an island
+ * that stops early stops exchanging migrants). Each island needs its own checkpoint file,
+ * and migrants still in transit are not part of any checkpoint.
+ *
+ * @param <G> the data type of a gene
+ */
+public class IslandModel<G> {
+
+    /**
+     * Which island receives the migrants of an island.
+     * RING: island i sends to island i+1 (and the last one to the first one);
+     * RANDOM: a different island is picked at random at every migration.
+     */
+    public enum Topology { RING, RANDOM }
+
+    //creates the GA that runs on one island; GAs are not shared between threads
+    private final Supplier<? extends GeneticAlgorithm<G>> factory;
+    private final int MIGRATION_INTERVAL;
+    private final int MIGRANTS;
+    private final Topology topology;
+
+    /**
+     * @param factory creates a new GA for each island (e.g., () -> new GeneticAlgorithm_TSP(...))
+     * @param migrationInterval number of generations between two migrations
+     * @param migrants number of individuals sent by an island at each migration
+     * @param topology which island receives the migrants
+     */
+    public IslandModel(Supplier<? extends GeneticAlgorithm<G>> factory,
+                       int migrationInterval, int migrants, Topology topology) {
+        if (migrationInterval <= 0 || migrants < 0) {
+            throw new IllegalArgumentException(
+                    "migrationInterval must be positive and migrants non-negative");
+        }
+        this.factory = factory;
+        this.MIGRATION_INTERVAL = migrationInterval;
+        this.MIGRANTS = migrants;
+        this.topology = topology;
+    }
+
+    /**
+     * Evolve one island per initial population, each until its GA stops,
+     * and return the fittest individual found on any island in any generation.
+     * @param initPopulations the initial population of every island
+     * @return the global best individual
+     */
+    public Individual<G> evolve(List<List<Individual<G>>> initPopulations) {
+        int n = initPopulations.size();
+        List<Queue<Individual<G>>> inboxes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            inboxes.add(new ConcurrentLinkedQueue<>());
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(n);
+        try {
+            List<Future<Individual<G>>> results = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                int island = i;
+                List<Individual<G>> init = initPopulations.get(i);
+                GeneticAlgorithm<G> ga = factory.get();
+                results.add(pool.submit(() -> runIsland(island, ga, init, inboxes)));
+            }
+            List<Individual<G>> best = new ArrayList<>(n);
+            for (Future<Individual<G>> result : results) {
+                best.add(result.get());
+            }
+            return Replacement.fittest(best);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for the islands", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("an island failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Individual<G> runIsland(int island, GeneticAlgorithm<G> ga,
+                                    List<Individual<G>> population,
+                                    List<Queue<Individual<G>>> inboxes) {
+        EvolutionResult<G> result = ga.evolve(population, (generation, current) ->
+                inboxes.size() > 1 && generation % MIGRATION_INTERVAL == 0
+                        ? migrate(island, ga, current, inboxes) : current);
+        return result.best();
+    }
+
+    /**
+     * Send the fittest MIGRANTS individuals to the destination island, then let the
+     * individuals that have arrived so far replace the least fit ones of this island.
+     */
+    private List<Individual<G>> migrate(int island, GeneticAlgorithm<G> ga,
+                                        List<Individual<G>> population,
+                                        List<Queue<Individual<G>>> inboxes) {
+        population = new ArrayList<>(population);
+        int size = population.size();
+        int m = Math.min(MIGRANTS, size);
+        Replacement.selectFittest(population, m, ga.getRandom());
+        Queue<Individual<G>> outbox = inboxes.get(destination(island, inboxes.size(), ga.getRandom()));
+        for (int i = 0; i < m; i++) {
+            outbox.offer(population.get(i));
+        }
+        //the migrants that have arrived (at most m) replace the least fit individuals,
+        //which partial selection moves to the end of the list
+        List<Individual<G>> arrived = new ArrayList<>(m);
+        Queue<Individual<G>> inbox = inboxes.get(island);
+        Individual<G> migrant;
+        while (arrived.size() < m && (migrant = inbox.poll()) != null) {
+            arrived.add(migrant);
+        }
+        Replacement.selectFittest(population, size - arrived.size(), ga.getRandom());
+        for (int i = 0; i < arrived.size(); i++) {
+            population.set(size - 1 - i, arrived.get(i));
+        }
+        return population;
+    }
+
+    //random is the island's own, so that seeding its GA also seeds the RANDOM topology
+    private int destination(int island, int n, Random random) {
+        if (topology == Topology.RING) {
+            return (island + 1) % n;
+        }
+        //any island but this one
+        int d = random.nextInt(n - 1);
+        return d >= island ? d + 1 : d;
+    }
+}
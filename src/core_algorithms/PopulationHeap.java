@@ -0,0 +1,126 @@
+package core_algorithms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An indexed binary min-heap over a population, keyed on fitness, used by the
+ * steady-state mode of GeneticAlgorithm.
+ * The individuals stay in fixed slots of a list (so the list can be handed to
+ * selectAParent()), while the heap orders the slot indices so that the least fit
+ * individual is found in O(1) and replaced in O(log n).
+ *
+ * @param <G> the data type of a gene
+ */
+public class PopulationHeap<G> {
+    private final List<Individual<G>> slots;
+    private final List<Individual<G>> view;
+    //heap[i]: the slot stored at position i of the heap
+    private final int[] heap;
+    //pos[s]: the position of slot s in the heap
+    private final int[] pos;
+
+    public PopulationHeap(List<Individual<G>> population) {
+        this.slots = new ArrayList<>(population);
+        this.view = Collections.unmodifiableList(slots);
+        int n = slots.size();
+        this.heap = new int[n];
+        this.pos = new int[n];
+        for (int i = 0; i < n; i++) {
+            heap[i] = i;
+            pos[i] = i;
+        }
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * @return a read-only view of the population that reflects every replacement
+     */
+    public List<Individual<G>> population() {
+        return view;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * @return the least fit individual of the population
+     */
+    public Individual<G> worst() {
+        return slots.get(heap[0]);
+    }
+
+    /**
+     * Replace the least fit individual of the population.
+     * @param individual the individual that takes its slot
+     */
+    public void replaceWorst(Individual<G> individual) {
+        replace(heap[0], individual);
+    }
+
+    /**
+     * Replace the individual in the given slot and restore the heap order.
+     * @param slot index of the individual in population()
+     * @param individual the individual that takes the slot
+     */
+    public void replace(int slot, Individual<G> individual) {
+        slots.set(slot, individual);
+        siftUp(pos[slot]);
+        siftDown(pos[slot]);
+    }
+
+    /**
+     * @return a modifiable copy of the current population
+     */
+    public List<Individual<G>> toList() {
+        return new ArrayList<>(slots);
+    }
+
+    //true if the slot at heap position a is less fit than the one at position b
+    private boolean lessFit(int a, int b) {
+        return slots.get(heap[a]).getFitnessScore() < slots.get(heap[b]).getFitnessScore();
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!lessFit(i, parent)) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        int n = heap.length;
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < n && lessFit(left, smallest)) {
+                smallest = left;
+            }
+            if (right < n && lessFit(right, smallest)) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int t = heap[i];
+        heap[i] = heap[j];
+        heap[j] = t;
+        pos[heap[i]] = i;
+        pos[heap[j]] = j;
+    }
+}
@@ -1,9 +1,32 @@
 package core_algorithms;
 
+import java.util.List;
+import java.util.Random;
+
 public interface Problem<S> {
     public S generateNewState(S currentState);
 
+    /**
+     * Generate a new state using the given source of randomness, so that a search
+     * with a seeded (or restored) Random is reproducible.
+     */
+    public default S generateNewState(S currentState, Random random) {
+        return generateNewState(currentState);
+    }
+
     public double cost(S state);
 
+    /**
+     * Evaluate the cost of many states at once; problems can override this with
+     * a faster kernel than calling cost() on each state.
+     * @param states the states to evaluate
+     * @param costs receives the cost of states.get(i) in costs[i]
+     */
+    public default void batchCost(List<S> states, double[] costs) {
+        for (int i = 0; i < states.size(); i++) {
+            costs[i] = cost(states.get(i));
+        }
+    }
+
     public S getInitState();
 }
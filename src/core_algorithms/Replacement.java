@@ -0,0 +1,62 @@
+package core_algorithms;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Helpers used by GeneticAlgorithm to build the next generation
+ * without fully sorting the population and the offspring.
+ */
+public final class Replacement {
+
+    private Replacement() {
+    }
+
+    /**
+     * Rearrange the list so that its first k elements are the k fittest individuals
+     * (in no particular order), using quickselect with a three-way partition.
+     * The pivot is picked at random, so this runs in expected O(n) whatever the order of
+     * the list, also when many individuals have the same fitness.
+     * @param individuals the list to rearrange in place
+     * @param k the number of fittest individuals to move to the front
+     * @param random picks the pivots (the GA passes its own, so that a seeded run is reproducible)
+     */
+    public static <G> void selectFittest(List<Individual<G>> individuals, int k, Random random) {
+        int lo = 0;
+        int hi = individuals.size() - 1;
+        if (k <= 0 || k > hi) {
+            return;
+        }
+        while (lo < hi) {
+            Individual<G> pivot = individuals.get(lo + random.nextInt(hi - lo + 1));
+            //[lo, lt): fitter than the pivot; [lt, gt]: as fit; (gt, hi]: less fit
+            int lt = lo, i = lo, gt = hi;
+            while (i <= gt) {
+                int c = individuals.get(i).compareTo(pivot);
+                if (c < 0) {
+                    Collections.swap(individuals, lt++, i++);
+                } else if (c > 0) {
+                    Collections.swap(individuals, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                hi = lt - 1;
+            } else if (k > gt + 1) {
+                lo = gt + 1;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the fittest individual of the list, found with a single linear scan
+     */
+    public static <G> Individual<G> fittest(List<Individual<G>> individuals) {
+        //Individual orders by descending fitness, so the "smallest" one is the fittest
+        return Collections.min(individuals);
+    }
+}
@@ -0,0 +1,57 @@
+package core_algorithms;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Custom JFR events emitted by the search engines when SearchMetrics is enabled.
+ * They cost almost nothing when no JFR recording is running.
+ */
+public final class SearchEvents {
+
+    private SearchEvents() {
+    }
+
+    @Name("core_algorithms.AnnealingSample")
+    @Label("Annealing Sample")
+    @Category({"Local Search", "Simulated Annealing"})
+    @Description("Proposals and acceptances of simulated annealing since the previous sample")
+    public static class AnnealingSample extends Event {
+        @Label("Proposals")
+        long proposals;
+
+        @Label("Accepted")
+        long accepted;
+
+        @Label("Acceptance Rate")
+        double acceptanceRate;
+
+        @Label("Temperature")
+        double temperature;
+
+        @Label("Gap")
+        @Description("Relative gap between the best cost so far and the lower bound (NaN without a bound)")
+        double gap;
+    }
+
+    @Name("core_algorithms.Generation")
+    @Label("Generation")
+    @Category({"Local Search", "Genetic Algorithm"})
+    @Description("Fitness and diversity of the population after a generation")
+    public static class Generation extends Event {
+        @Label("Generation")
+        int generation;
+
+        @Label("Best Fitness")
+        double bestFitness;
+
+        @Label("Mean Fitness")
+        double meanFitness;
+
+        @Label("Diversity")
+        double diversity;
+    }
+}
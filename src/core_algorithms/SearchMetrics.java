@@ -0,0 +1,193 @@
+package core_algorithms;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and gauges of what the search engines are doing, published through JMX
+ * (as core_algorithms:type=SearchMetrics) and as JFR events (see SearchEvents).
+ * Metrics are enabled by running the JVM with -Dsearch.metrics=true. When they are not,
+ * ENABLED is a constant false and the JIT removes every recording call.
+ * Counters are LongAdders, so engines running on several threads (e.g., the islands of
+ * an IslandModel) do not contend on them; gauges hold the latest value recorded.
+ */
+public final class SearchMetrics implements SearchMetricsMXBean {
+
+    public static final boolean ENABLED = Boolean.getBoolean("search.metrics");
+
+    //simulated annealing reports its counters (and a JFR event) once every this many iterations
+    public static final int SAMPLE_INTERVAL = 4096;
+
+    private static final LongAdder NODES = new LongAdder();
+    private static final LongAdder BACKTRACKS = new LongAdder();
+    private static final LongAdder ARCS = new LongAdder();
+    private static final LongAdder REVISIONS = new LongAdder();
+    private static final LongAdder PROPOSALS = new LongAdder();
+    private static final LongAdder ACCEPTED = new LongAdder();
+    private static final LongAdder GENERATIONS = new LongAdder();
+    private static volatile double temperature;
+    //NaN until a search with a lower bound reports its gap
+    private static volatile double gap = Double.NaN;
+    private static volatile double bestFitness;
+    private static volatile double meanFitness;
+    private static volatile double diversity;
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(
+                        new SearchMetrics(), new ObjectName("core_algorithms:type=SearchMetrics"));
+            } catch (JMException e) {
+                System.err.println("Unable to register the search metrics MBean: " + e);
+            }
+        }
+    }
+
+    private SearchMetrics() {
+    }
+
+    //a variable has been assigned a value by the backtracking search
+    public static void node() {
+        if (ENABLED) {
+            NODES.increment();
+        }
+    }
+
+    //the backtracking search has undone an assignment
+    public static void backtrack() {
+        if (ENABLED) {
+            BACKTRACKS.increment();
+        }
+    }
+
+    //arcs have been handed to AC-3
+    public static void arcs(int count) {
+        if (ENABLED) {
+            ARCS.add(count);
+        }
+    }
+
+    //revise() has removed values from the domain of a variable; counted by
+    //BacktrackingSearch.reviseArc(), so it stays at 0 until AC3() is implemented
+    public static void revision() {
+        if (ENABLED) {
+            REVISIONS.increment();
+        }
+    }
+
+    /**
+     * Record a batch of simulated annealing iterations.
+     * @param proposals number of states generated since the previous sample
+     * @param accepted number of them that were accepted
+     * @param temp the current temperature
+     * @param bestGap relative gap between the best cost so far and the lower bound,
+     *                or NaN if the search has no lower bound
+     */
+    public static void annealingSample(long proposals, long accepted, double temp, double bestGap) {
+        if (ENABLED) {
+            PROPOSALS.add(proposals);
+            ACCEPTED.add(accepted);
+            temperature = temp;
+            gap = bestGap;
+            SearchEvents.AnnealingSample event = new SearchEvents.AnnealingSample();
+            if (event.shouldCommit()) {
+                event.proposals = proposals;
+                event.accepted = accepted;
+                event.acceptanceRate = proposals == 0 ? 0 : (double) accepted / proposals;
+                event.temperature = temp;
+                event.gap = bestGap;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Record the state of the population after a generation of a genetic algorithm.
+     */
+    public static void generation(int generation, double best, double mean, double div) {
+        if (ENABLED) {
+            GENERATIONS.increment();
+            bestFitness = best;
+            meanFitness = mean;
+            diversity = div;
+            SearchEvents.Generation event = new SearchEvents.Generation();
+            if (event.shouldCommit()) {
+                event.generation = generation;
+                event.bestFitness = best;
+                event.meanFitness = mean;
+                event.diversity = div;
+                event.commit();
+            }
+        }
+    }
+
+    public long getNodes() {
+        return NODES.sum();
+    }
+
+    public long getBacktracks() {
+        return BACKTRACKS.sum();
+    }
+
+    public long getArcs() {
+        return ARCS.sum();
+    }
+
+    public long getRevisions() {
+        return REVISIONS.sum();
+    }
+
+    public long getProposals() {
+        return PROPOSALS.sum();
+    }
+
+    public long getAccepted() {
+        return ACCEPTED.sum();
+    }
+
+    public double getAcceptanceRate() {
+        long proposals = PROPOSALS.sum();
+        return proposals == 0 ? 0 : (double) ACCEPTED.sum() / proposals;
+    }
+
+    public double getTemperature() {
+        return temperature;
+    }
+
+    public double getGap() {
+        return gap;
+    }
+
+    public long getGenerations() {
+        return GENERATIONS.sum();
+    }
+
+    public double getBestFitness() {
+        return bestFitness;
+    }
+
+    public double getMeanFitness() {
+        return meanFitness;
+    }
+
+    public double getDiversity() {
+        return diversity;
+    }
+
+    public void reset() {
+        NODES.reset();
+        BACKTRACKS.reset();
+        ARCS.reset();
+        REVISIONS.reset();
+        PROPOSALS.reset();
+        ACCEPTED.reset();
+        GENERATIONS.reset();
+        temperature = 0;
+        gap = Double.NaN;
+        bestFitness = 0;
+        meanFitness = 0;
+        diversity = 0;
+    }
+}
@@ -0,0 +1,39 @@
+package core_algorithms;
+
+/**
+ * The JMX view of SearchMetrics, registered as core_algorithms:type=SearchMetrics.
+ */
+public interface SearchMetricsMXBean {
+    //backtracking search
+    long getNodes();
+
+    long getBacktracks();
+
+    long getArcs();
+
+    long getRevisions();
+
+    //simulated annealing
+    long getProposals();
+
+    long getAccepted();
+
+    double getAcceptanceRate();
+
+    double getTemperature();
+
+    //relative gap of the best state to the lower bound (NaN without a bound)
+    double getGap();
+
+    //genetic algorithm
+    long getGenerations();
+
+    double getBestFitness();
+
+    double getMeanFitness();
+
+    double getDiversity();
+
+    //zero every counter and gauge
+    void reset();
+}
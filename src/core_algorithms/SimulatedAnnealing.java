@@ -1,5 +1,9 @@
 package core_algorithms;
 
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.Random;
 
 /**
@@ -14,6 +18,25 @@ public abstract class SimulatedAnnealing<S> {
 
     private final Problem<S> problem;
 
+    //optional lower bound on the cost of any state (NaN if unknown)
+    private double lowerBound = Double.NaN;
+    //stop as soon as the best cost is within this relative gap of the lower bound
+    private double maxGap;
+
+    private Random random = new Random();
+
+    //optional wall-clock limit on each call to anneal(), in milliseconds (0: none)
+    private long timeBudgetMillis;
+    //true if the last call to anneal() ran out of its time budget
+    private boolean stoppedByTimeBudget;
+
+    //optional periodic checkpoints (null if disabled)
+    private Path checkpointFile;
+    private long checkpointInterval;
+    private Codec<S> stateCodec;
+    //identifies a simulated annealing checkpoint file ("SAC1")
+    private static final int CHECKPOINT_MAGIC = 0x53414331;
+
     public SimulatedAnnealing(long initTime, double initTemp, Problem<S> p){
         this.time = initTime;
         this.temp = initTemp;
@@ -23,20 +46,171 @@ public abstract class SimulatedAnnealing<S> {
     //generate the new (lower) temperature
     public abstract double schedule(long time, double temp);
 
+    /**
+     * Give the search a lower bound on the cost (e.g., optimization_problems.HeldKarpBound),
+     * so that it reports how far its result is from optimal, and stops once the best state
+     * it has found is provably within maxGap of the optimum.
+     * @param lowerBound a positive lower bound on the cost of any state
+     * @param maxGap the relative gap at which to stop (e.g., 0.01 for 1%; 0 to stop only at the bound)
+     */
+    public void setLowerBound(double lowerBound, double maxGap){
+        this.lowerBound = lowerBound;
+        this.maxGap = maxGap;
+    }
+
+    /**
+     * Limit the wall-clock time of anneal(): once it has run for timeBudgetMillis, it stops
+     * and returns the best state found so far (see stoppedByTimeBudget()).
+     * @param timeBudgetMillis the time limit in milliseconds (0 for none)
+     */
+    public void setTimeBudget(long timeBudgetMillis){
+        if(timeBudgetMillis < 0){
+            throw new IllegalArgumentException("timeBudgetMillis must not be negative");
+        }
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    //true if the last call to anneal() stopped because it ran out of its time budget
+    public boolean stoppedByTimeBudget(){
+        return stoppedByTimeBudget;
+    }
+
+    //use a seeded source of randomness, to make the search reproducible
+    public void setSeed(long seed){
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Save the progress of the search to a file every checkpointInterval iterations (and at
+     * the end), so that anneal() can resume from it after the process is stopped.
+     * If the file already exists when anneal() starts, the search resumes from it, with the
+     * same time, temperature, current and best states and random state as when it was saved;
+     * resuming a seeded search reproduces the run that was interrupted.
+     * States must not be modified once generated, since they are written by another thread.
+     * @param file the checkpoint file
+     * @param checkpointInterval number of iterations between two checkpoints (positive)
+     * @param stateCodec writes and reads states (e.g., Codec.listOf(Codec.INT) for TSP tours)
+     */
+    public void setCheckpoint(Path file, long checkpointInterval, Codec<S> stateCodec){
+        if(checkpointInterval <= 0){
+            throw new IllegalArgumentException("checkpointInterval must be positive");
+        }
+        this.checkpointFile = file;
+        this.checkpointInterval = checkpointInterval;
+        this.stateCodec = stateCodec;
+    }
+
     public void search(){
+        S best = anneal();
+        double cost = problem.cost(best);
+        System.out.println(best);
+        System.out.println("Total distance: "+cost);
+        if(!Double.isNaN(lowerBound)){
+            System.out.println("Lower bound: "+lowerBound+", gap: "+gap(cost));
+        }
+    }
+
+    /**
+     * Run the search without printing anything.
+     * The search also stops (early) if the thread is interrupted or the time budget is spent.
+     * @return the best state found, which need not be the final one
+     */
+    public S anneal(){
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000;
+        stoppedByTimeBudget = false;
         S state = problem.getInitState();
-        while(temp > 0){
-            S newState = problem.generateNewState(state);
-            double deltaCost =
-                    problem.cost(newState) - problem.cost(state);
-            if(accept(deltaCost, temp) ){
-                state = newState;
+        S best = state;
+        Checkpointer checkpointer = checkpointFile == null ? null : new Checkpointer(checkpointFile);
+        try{
+            if(checkpointer != null){
+                try(DataInputStream in = checkpointer.open()){
+                    if(in != null){
+                        if(in.readInt() != CHECKPOINT_MAGIC){
+                            throw new IOException("not a simulated annealing checkpoint");
+                        }
+                        time = in.readLong();
+                        temp = in.readDouble();
+                        state = stateCodec.read(in);
+                        best = stateCodec.read(in);
+                        random = Checkpointer.restoreRandom(Checkpointer.readBytes(in));
+                    }
+                }catch(IOException e){
+                    throw new UncheckedIOException("unable to resume from the checkpoint", e);
+                }
+            }
+            double cost = problem.cost(state);
+            double bestCost = problem.cost(best);
+            //counted locally and handed to SearchMetrics every SAMPLE_INTERVAL iterations
+            long proposals = 0;
+            long accepted = 0;
+            while(temp > 0 && !withinGap(bestCost)){
+                S newState = problem.generateNewState(state, random);
+                double newCost = problem.cost(newState);
+                double deltaCost = newCost - cost;
+                proposals++;
+                if(accept(deltaCost, temp) ){
+                    state = newState;
+                    cost = newCost;
+                    if(cost < bestCost){
+                        bestCost = cost;
+                        best = state;
+                    }
+                    accepted++;
+                }
+                time ++;
+                temp = schedule(time, temp);
+                if(checkpointer != null && time % checkpointInterval == 0){
+                    saveCheckpoint(checkpointer, state, best);
+                }
+                if(SearchMetrics.ENABLED && proposals == SearchMetrics.SAMPLE_INTERVAL){
+                    SearchMetrics.annealingSample(proposals, accepted, temp, gap(bestCost));
+                    proposals = 0;
+                    accepted = 0;
+                }
+                if((time & 1023) == 0){
+                    if(Thread.currentThread().isInterrupted()){
+                        break;
+                    }
+                    if(timeBudgetMillis > 0 && System.nanoTime() - deadline >= 0){
+                        stoppedByTimeBudget = true;
+                        break;
+                    }
+                }
+            }
+            SearchMetrics.annealingSample(proposals, accepted, temp, gap(bestCost));
+            if(checkpointer != null){
+                saveCheckpoint(checkpointer, state, best);
+            }
+            return best;
+        }finally{
+            if(checkpointer != null){
+                checkpointer.close();
             }
-            time ++;
-            temp = schedule(time, temp);
         }
-        System.out.println(state);
-        System.out.println("Total distance: "+problem.cost(state));
+    }
+
+    //capture the progress now; it is written to the file on the checkpoint thread
+    private void saveCheckpoint(Checkpointer checkpointer, S state, S best){
+        long t = time;
+        double tp = temp;
+        byte[] randomState = Checkpointer.randomState(random);
+        checkpointer.save(out -> {
+            out.writeInt(CHECKPOINT_MAGIC);
+            out.writeLong(t);
+            out.writeDouble(tp);
+            stateCodec.write(out, state);
+            stateCodec.write(out, best);
+            Checkpointer.writeBytes(out, randomState);
+        });
+    }
+
+    //the relative gap between the given cost and the lower bound
+    private double gap(double cost){
+        return (cost - lowerBound) / lowerBound;
+    }
+
+    private boolean withinGap(double cost){
+        return !Double.isNaN(lowerBound) && gap(cost) <= maxGap;
     }
 
     public boolean accept(double delta, double temp){
@@ -44,8 +218,7 @@ public abstract class SimulatedAnnealing<S> {
             return true;
         }else{
             double probability = Math.exp((0-delta)/temp);
-            Random r = new Random();
-            if ( probability > r.nextDouble()){
+            if ( probability > random.nextDouble()){
                 return true;
             }else{
                 return false;
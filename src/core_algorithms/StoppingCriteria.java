@@ -0,0 +1,25 @@
+package core_algorithms;
+
+/**
+ * Conditions under which GeneticAlgorithm.evolve() stops before MAX_GEN generations.
+ * A criterion is disabled by giving it the value used in NONE.
+ *
+ * @param noImprovementWindow stop after this many generations without a fitter individual (0: disabled)
+ * @param targetFitness stop as soon as an individual is at least this fit (+infinity: disabled)
+ * @param timeBudgetMillis stop after this much wall-clock time (0: disabled)
+ * @param minDiversity stop when the fraction of distinct chromosomes in the population
+ *                     falls below this value (0: disabled)
+ */
+public record StoppingCriteria(int noImprovementWindow, double targetFitness,
+                               long timeBudgetMillis, double minDiversity) {
+
+    public static final StoppingCriteria NONE =
+            new StoppingCriteria(0, Double.POSITIVE_INFINITY, 0, 0);
+
+    public StoppingCriteria {
+        if (noImprovementWindow < 0 || timeBudgetMillis < 0
+                || minDiversity < 0 || minDiversity > 1) {
+            throw new IllegalArgumentException("invalid stopping criteria");
+        }
+    }
+}
@@ -10,9 +10,16 @@ public class Sudoku implements CSPProblem<String,Integer> {
     private final Map<String,Set<String>> neighbors = new HashMap<>();
     //name of the file that contains the test case.
     private final String filename;
+    //the test case itself, in the same format as the file (null if read from the file)
+    private final String puzzle;
 
     public Sudoku(String filename) {
+        this(filename, null);
+    }
+
+    private Sudoku(String filename, String puzzle) {
         this.filename = filename;
+        this.puzzle = puzzle;
         allVariables = getAllVariables();
         //for each row, get the neighbors of each variable in that row
         for (int i=0; i<9; i++) {
@@ -65,10 +72,21 @@ public class Sudoku implements CSPProblem<String,Integer> {
         }
     }
 
+    /**
+     * Create a puzzle from its text rather than from a file
+     * @param puzzle 9 lines of 9 space-separated numbers, 0 for an empty square
+     *               (the format of the files in SudokuTestCases)
+     * @return the puzzle
+     */
+    public static Sudoku fromText(String puzzle) {
+        return new Sudoku(null, puzzle);
+    }
+
     public Map<String,Variable<String,Integer>> getAllVariables() {
         Map<String,Variable<String,Integer>> allVariables = new HashMap<>();
         try {
-            BufferedReader in = new BufferedReader(new FileReader(filename));
+            BufferedReader in = new BufferedReader(
+                    puzzle != null ? new StringReader(puzzle) : new FileReader(filename));
             String line;
             List<Integer> defaultDomain = List.of(1,2,3,4,5,6,7,8,9);
             //i: row number; j: column number
@@ -0,0 +1,152 @@
+package optimization_problems;
+
+import java.util.Arrays;
+
+/**
+ * Held-Karp lower bound on the length of the shortest tour of a TSP instance.
+ * A 1-tree is a minimum spanning tree of cities 1..n-1 plus the two shortest edges
+ * from city 0; every tour is a 1-tree, so the cheapest 1-tree is a lower bound.
+ * The bound is tightened by subgradient optimization: each city i gets a penalty pi[i]
+ * added to the length of its edges, which is raised when i has more than two edges in
+ * the 1-tree and lowered when it has only one. For any penalties,
+ * (length of the cheapest penalized 1-tree) - 2 * sum(pi) is still a lower bound.
+ */
+public final class HeldKarpBound {
+    private static final int MAX_ITERATIONS = 1000;
+    //halve the step size after this many iterations without a better bound
+    private static final int PATIENCE = 20;
+
+    private HeldKarpBound() {
+    }
+
+    public static double compute(TSP problem) {
+        return compute(problem.getDistanceMatrix(), MAX_ITERATIONS);
+    }
+
+    /**
+     * @param distances a symmetric matrix of integer distances
+     * @param maxIterations maximum number of subgradient steps
+     * @return a lower bound on the length of any tour
+     */
+    public static double compute(int[][] distances, int maxIterations) {
+        int n = distances.length;
+        if (n < 3) {
+            return 0;
+        }
+        double upperBound = nearestNeighborTourLength(distances);
+        double[] pi = new double[n];
+        int[] degree = new int[n];
+        double best = Double.NEGATIVE_INFINITY;
+        double lambda = 2;
+        int sinceImprovement = 0;
+        for (int iteration = 0; iteration < maxIterations && lambda > 1e-6; iteration++) {
+            double bound = oneTree(distances, pi, degree);
+            for (double p : pi) {
+                bound -= 2 * p;
+            }
+            if (bound > best + 1e-9) {
+                best = bound;
+                sinceImprovement = 0;
+            } else if (++sinceImprovement >= PATIENCE) {
+                lambda /= 2;
+                sinceImprovement = 0;
+            }
+            long norm = 0;
+            for (int d : degree) {
+                norm += (long) (d - 2) * (d - 2);
+            }
+            //every city has two edges: the 1-tree is an optimal tour
+            if (norm == 0 || upperBound - bound <= 0) {
+                break;
+            }
+            double step = lambda * (upperBound - bound) / norm;
+            for (int i = 0; i < n; i++) {
+                pi[i] += step * (degree[i] - 2);
+            }
+        }
+        //tour lengths are integers, so the bound can be rounded up
+        return Math.ceil(best - 1e-6);
+    }
+
+    /**
+     * @return the relative gap between the cost of a tour and a lower bound
+     *         (e.g., 0.05 if the tour is at most 5% longer than the optimal tour)
+     */
+    public static double gap(double cost, double lowerBound) {
+        return (cost - lowerBound) / lowerBound;
+    }
+
+    /**
+     * Build the cheapest 1-tree for the distances penalized by pi (Prim's algorithm, O(n^2)).
+     * @param degree filled with the number of edges of each city in the 1-tree
+     * @return the penalized length of the 1-tree
+     */
+    private static double oneTree(int[][] d, double[] pi, int[] degree) {
+        int n = d.length;
+        Arrays.fill(degree, 0);
+        //minimum spanning tree of cities 1..n-1
+        boolean[] inTree = new boolean[n];
+        double[] minEdge = new double[n];
+        int[] parent = new int[n];
+        Arrays.fill(minEdge, Double.POSITIVE_INFINITY);
+        minEdge[1] = 0;
+        double length = 0;
+        for (int k = 1; k < n; k++) {
+            int u = -1;
+            for (int v = 1; v < n; v++) {
+                if (!inTree[v] && (u == -1 || minEdge[v] < minEdge[u])) {
+                    u = v;
+                }
+            }
+            inTree[u] = true;
+            length += minEdge[u];
+            if (k > 1) {
+                degree[u]++;
+                degree[parent[u]]++;
+            }
+            for (int v = 1; v < n; v++) {
+                double w = d[u][v] + pi[u] + pi[v];
+                if (!inTree[v] && w < minEdge[v]) {
+                    minEdge[v] = w;
+                    parent[v] = u;
+                }
+            }
+        }
+        //the two shortest edges from city 0
+        int first = -1, second = -1;
+        for (int v = 1; v < n; v++) {
+            double w = d[0][v] + pi[v];
+            if (first == -1 || w < d[0][first] + pi[first]) {
+                second = first;
+                first = v;
+            } else if (second == -1 || w < d[0][second] + pi[second]) {
+                second = v;
+            }
+        }
+        length += d[0][first] + pi[first] + d[0][second] + pi[second] + 2 * pi[0];
+        degree[0] = 2;
+        degree[first]++;
+        degree[second]++;
+        return length;
+    }
+
+    private static double nearestNeighborTourLength(int[][] d) {
+        int n = d.length;
+        boolean[] visited = new boolean[n];
+        visited[0] = true;
+        int current = 0;
+        double length = 0;
+        for (int k = 1; k < n; k++) {
+            int next = -1;
+            for (int v = 0; v < n; v++) {
+                if (!visited[v] && (next == -1 || d[current][v] < d[current][next])) {
+                    next = v;
+                }
+            }
+            visited[next] = true;
+            length += d[current][next];
+            current = next;
+        }
+        return length + d[current][0];
+    }
+}
@@ -18,6 +18,8 @@ public class TSP implements Problem<List<Integer>> {
 
     private final Sample MAP;
     private final List<Integer> INIT_STATE = new ArrayList<>();
+    //the distance matrix as one row-major array, for TourCostKernel
+    private final int[] FLAT_DISTANCES;
 
     public TSP(int size){
         switch (size) {
@@ -39,6 +41,7 @@ public class TSP implements Problem<List<Integer>> {
                 System.out.println("Wrong map size; Choose from: 5, 6, 17, or 26.");
                 exit(1);
         }
+        this.FLAT_DISTANCES = TourCostKernel.flatten(MAP.distanceMatrix);
         for(int i=0; i<size; i++) {
             INIT_STATE.add(i);
         }
@@ -46,7 +49,10 @@ public class TSP implements Problem<List<Integer>> {
 
     //generate a new tour by randomly swap two cities in the given tour
     public List<Integer> generateNewState (List<Integer> state){
-        Random r = new Random();
+        return generateNewState(state, new Random());
+    }
+
+    public List<Integer> generateNewState (List<Integer> state, Random r){
         int city1 = r.nextInt(state.size());
         int city2;
         do {
@@ -68,10 +74,31 @@ public class TSP implements Problem<List<Integer>> {
         return totalDistance;
     }
 
+    //copy the tours into one int array and evaluate them with TourCostKernel
+    public void batchCost(List<List<Integer>> states, double[] costs){
+        int n = MAP.distanceMatrix.length;
+        int[] tours = new int[states.size() * n];
+        int k = 0;
+        for(List<Integer> state : states){
+            if(state.size() != n){
+                throw new IllegalArgumentException("a tour must visit all "+n+" cities");
+            }
+            for(int i=0; i<n; i++){
+                tours[k++] = state.get(i);
+            }
+        }
+        TourCostKernel.costs(FLAT_DISTANCES, n, tours, states.size(), costs);
+    }
+
     public List<Integer> getInitState() {
         return INIT_STATE;
     }
 
+    //distanceMatrix[i][j]: the distance between city i and city j
+    public int[][] getDistanceMatrix() {
+        return MAP.distanceMatrix;
+    }
+
     //In the distance matrix, the indices represents cities
     //e.g., distanceMatrix[1][4] specifies the distance between
     //city 1 and city 4.
@@ -0,0 +1,86 @@
+package optimization_problems;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Computes the lengths of many tours at once.
+ * Tours are stored back to back in one int array (tour t occupies tours[t*n .. t*n+n-1])
+ * and distances in a flat row-major array (the distance from a to b is distances[a*n + b]),
+ * so that the loop reads memory sequentially instead of chasing boxed Integers and rows.
+ * If the JVM runs with --add-modules jdk.incubator.vector and VectorTourCost (built from the
+ * vector/ source set) is on the classpath, the edges of a tour are summed with vector gathers;
+ * otherwise a scalar loop is used.
+ */
+public final class TourCostKernel {
+
+    //VectorTourCost.costs(), or null if the Vector API is not used
+    private static final MethodHandle VECTOR_COSTS = findVectorKernel();
+
+    //true if the Vector API is used; -Dtsp.vector=false forces the scalar loop
+    public static final boolean VECTORIZED = VECTOR_COSTS != null;
+
+    private TourCostKernel() {
+    }
+
+    private static MethodHandle findVectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()
+                || "false".equals(System.getProperty("tsp.vector"))) {
+            return null;
+        }
+        try {
+            return MethodHandles.lookup().findStatic(
+                    Class.forName("optimization_problems.VectorTourCost"), "costs",
+                    MethodType.methodType(void.class, int[].class, int.class, int[].class, int.class, double[].class));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the distance matrix as a flat row-major array
+     */
+    public static int[] flatten(int[][] distanceMatrix) {
+        int n = distanceMatrix.length;
+        int[] flat = new int[n * n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(distanceMatrix[i], 0, flat, i * n, n);
+        }
+        return flat;
+    }
+
+    /**
+     * @param distances flat row-major distance matrix of n cities
+     * @param n number of cities
+     * @param tours count tours of n cities each, back to back
+     * @param count number of tours
+     * @param costs receives the length of tour t in costs[t]; tours are summed in a long,
+     *              but with the Vector API the distances of one vector of edges (16 with
+     *              512-bit vectors) are first added in an int, so no distance may exceed
+     *              Integer.MAX_VALUE divided by the number of lanes
+     */
+    public static void costs(int[] distances, int n, int[] tours, int count, double[] costs) {
+        if (VECTORIZED) {
+            try {
+                VECTOR_COSTS.invokeExact(distances, n, tours, count, costs);
+            } catch (Throwable t) {
+                throw new IllegalStateException("the Vector API kernel failed", t);
+            }
+        } else {
+            scalarCosts(distances, n, tours, count, costs);
+        }
+    }
+
+    public static void scalarCosts(int[] distances, int n, int[] tours, int count, double[] costs) {
+        for (int t = 0; t < count; t++) {
+            int base = t * n;
+            long total = 0;
+            for (int i = base; i < base + n - 1; i++) {
+                total += distances[tours[i] * n + tours[i + 1]];
+            }
+            total += distances[tours[base + n - 1] * n + tours[base]];
+            costs[t] = total;
+        }
+    }
+}
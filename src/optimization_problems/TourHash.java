@@ -0,0 +1,89 @@
+package optimization_problems;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.ToLongFunction;
+
+/**
+ * Zobrist-style hashing of TSP tours.
+ * Every undirected edge {a, b} between two cities gets a random 64-bit code, and the hash
+ * of a tour is the XOR of the codes of its edges. Since a tour is fully described by its
+ * set of edges, all rotations and both directions of a tour get the same hash,
+ * and a swap of two cities can be applied to the hash in O(1) (see afterSwap()).
+ * Two TourHash of the same size compute the same hashes.
+ */
+public class TourHash implements ToLongFunction<List<Integer>> {
+    //fixed so that hashes are the same from one run to the next
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    //codes[a][b] == codes[b][a]: the code of the edge between city a and city b
+    private final long[][] codes;
+
+    /**
+     * @param size number of cities
+     */
+    public TourHash(int size) {
+        codes = new long[size][size];
+        SplittableRandom r = new SplittableRandom(SEED);
+        for (int a = 0; a < size; a++) {
+            for (int b = a + 1; b < size; b++) {
+                codes[a][b] = r.nextLong();
+                codes[b][a] = codes[a][b];
+            }
+        }
+    }
+
+    public long hash(List<Integer> tour) {
+        int n = tour.size();
+        long h = 0;
+        for (int i = 0, j = 1; j < n; i++, j++) {
+            h ^= codes[tour.get(i)][tour.get(j)];
+        }
+        return h ^ codes[tour.get(n - 1)][tour.get(0)];
+    }
+
+    @Override
+    public long applyAsLong(List<Integer> tour) {
+        return hash(tour);
+    }
+
+    /**
+     * Incrementally update the hash of a tour for a swap of two of its cities.
+     * @param hash the hash of the tour (before the swap)
+     * @param tour the tour before the swap; it is not modified
+     * @param i position of the first city to swap
+     * @param j position of the second city to swap
+     * @return the hash of the tour after swapping the cities at positions i and j
+     */
+    public long afterSwap(long hash, List<Integer> tour, int i, int j) {
+        int n = tour.size();
+        if (i == j) {
+            return hash;
+        }
+        //the edges that may change start at these positions (edge p goes from p to p+1)
+        int[] edges = {(i - 1 + n) % n, i, (j - 1 + n) % n, j};
+        for (int k = 0; k < edges.length; k++) {
+            int p = edges[k];
+            if (isRepeated(edges, k)) {
+                continue;
+            }
+            int q = (p + 1) % n;
+            hash ^= codes[tour.get(p)][tour.get(q)];
+            hash ^= codes[cityAfterSwap(tour, p, i, j)][cityAfterSwap(tour, q, i, j)];
+        }
+        return hash;
+    }
+
+    private static boolean isRepeated(int[] edges, int k) {
+        for (int m = 0; m < k; m++) {
+            if (edges[m] == edges[k]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int cityAfterSwap(List<Integer> tour, int p, int i, int j) {
+        return tour.get(p == i ? j : p == j ? i : p);
+    }
+}
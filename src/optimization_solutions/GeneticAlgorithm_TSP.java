@@ -1,23 +1,30 @@
 
 package optimization_solutions;
 
+import core_algorithms.FitnessCache;
 import core_algorithms.GeneticAlgorithm;
+import core_algorithms.EvolutionResult;
 import core_algorithms.Individual;
+import core_algorithms.Replacement;
+import core_algorithms.StoppingCriteria;
+import optimization_problems.HeldKarpBound;
 import optimization_problems.TSP;
+import optimization_problems.TourHash;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
 
 public class GeneticAlgorithm_TSP extends GeneticAlgorithm<Integer> {
     private final TSP problem;
-    private final Random random;
 
     public GeneticAlgorithm_TSP(int maxGen, double mRate, double elitism, TSP problem) {
-        super(maxGen, mRate, elitism);
+        this(maxGen, mRate, elitism, false, problem);
+    }
+
+    public GeneticAlgorithm_TSP(int maxGen, double mRate, double elitism, boolean steadyState, TSP problem) {
+        super(maxGen, mRate, elitism, steadyState);
         this.problem = problem;
-        this.random = new Random();
     }
 
     public double calcFitnessScore(List<Integer> chromosome) {
@@ -26,8 +33,8 @@ public class GeneticAlgorithm_TSP extends GeneticAlgorithm<Integer> {
 
     public Individual<Integer> reproduce(Individual<Integer> p1, Individual<Integer> p2) {
         List<Integer> offspring = new ArrayList<>(Collections.nCopies(p1.getChromosome().size(), -1));
-        int start = random.nextInt(p1.getChromosome().size());
-        int end = start + random.nextInt(p1.getChromosome().size() - start);
+        int start = getRandom().nextInt(p1.getChromosome().size());
+        int end = start + getRandom().nextInt(p1.getChromosome().size() - start);
 
         for (int i = start; i <= end; i++) {
             offspring.set(i, p1.getChromosome().get(i));
@@ -41,18 +48,25 @@ public class GeneticAlgorithm_TSP extends GeneticAlgorithm<Integer> {
             }
         }
 
-        return new Individual<>(offspring, calcFitnessScore(offspring));
+        return newIndividual(offspring);
     }
 
     public Individual<Integer> mutate(Individual<Integer> individual) {
         List<Integer> chromosome = new ArrayList<>(individual.getChromosome());
-        int i1 = random.nextInt(chromosome.size());
-        int i2 = random.nextInt(chromosome.size());
+        int i1 = getRandom().nextInt(chromosome.size());
+        int i2 = getRandom().nextInt(chromosome.size());
         while (i1 == i2) {
-            i2 = random.nextInt(chromosome.size());
+            i2 = getRandom().nextInt(chromosome.size());
+        }
+        //with tour hashes, the key of the mutant follows from the key of the individual in O(1)
+        FitnessCache<Integer> cache = getFitnessCache();
+        if (cache != null && cache.getHasher() instanceof TourHash tourHash && individual.hasKey()) {
+            long key = tourHash.afterSwap(individual.getKey(), individual.getChromosome(), i1, i2);
+            Collections.swap(chromosome, i1, i2);
+            return newIndividual(chromosome, key);
         }
         Collections.swap(chromosome, i1, i2);
-        return new Individual<>(chromosome, calcFitnessScore(chromosome));
+        return newIndividual(chromosome);
     }
 
     public List<Individual<Integer>> generateInitPopulation(int popSize, int numCities) {
@@ -62,9 +76,8 @@ public class GeneticAlgorithm_TSP extends GeneticAlgorithm<Integer> {
             for (int j = 0; j < numCities; j++) {
                 chromosome.add(j);
             }
-            Collections.shuffle(chromosome);
-            Individual<Integer> individual = new Individual<>(chromosome, calcFitnessScore(chromosome));
-            population.add(individual);
+            Collections.shuffle(chromosome, getRandom());
+            population.add(newIndividual(chromosome));
         }
         return population;
     }
@@ -75,15 +88,39 @@ public class GeneticAlgorithm_TSP extends GeneticAlgorithm<Integer> {
         int POPULATION_SIZE = 1000;
         int NUM_CITIES = 26; // choose from 5, 6, 17, 26
         double ELITISM = 0.2;
+        double MAX_GAP = 0.01; // stop once the best tour is provably within 1% of the shortest one
 
         TSP problem = new TSP(NUM_CITIES);
 
         GeneticAlgorithm_TSP agent = new GeneticAlgorithm_TSP(MAX_GEN, MUTATION_RATE, ELITISM, problem);
-
-        Individual<Integer> best = agent.evolve(agent.generateInitPopulation(POPULATION_SIZE, NUM_CITIES));
+        FitnessCache<Integer> cache = new FitnessCache<>(1 << 16, new TourHash(NUM_CITIES));
+        agent.setFitnessCache(cache);
+        agent.setEliminateDuplicates(true);
+        //stop after 50 generations without improvement or within MAX_GAP of the lower bound
+        //(the fitness is 1 / cost); raise the mutation rate (up to 0.5) once fewer than
+        //half of the tours are distinct
+        double lowerBound = HeldKarpBound.compute(problem);
+        agent.setStoppingCriteria(new StoppingCriteria(50, 1 / (lowerBound * (1 + MAX_GAP)), 0, 0));
+        agent.setAdaptiveMutation(0.5, 0.5);
+
+        //report the gap of the best tour of every tenth generation while the run goes on
+        EvolutionResult<Integer> result = agent.evolve(agent.generateInitPopulation(POPULATION_SIZE, NUM_CITIES),
+                (generation, population) -> {
+                    if (generation % 10 == 0) {
+                        double cost = problem.cost(Replacement.fittest(population).getChromosome());
+                        System.out.println("Generation " + generation + ": cost " + cost
+                                + ", gap " + HeldKarpBound.gap(cost, lowerBound));
+                    }
+                    return population;
+                });
+        Individual<Integer> best = result.best();
 
         System.out.println("This is the best " + best);
         System.out.println("This is the cost " + problem.cost(best.getChromosome()));
+        System.out.println("Lower bound: " + lowerBound
+                + ", gap: " + HeldKarpBound.gap(problem.cost(best.getChromosome()), lowerBound));
+        System.out.println("Stopped after " + result.generations() + " generations (" + result.stopReason() + ")");
+        System.out.println(cache);
     }
 
 }
@@ -0,0 +1,39 @@
+package optimization_solutions;
+
+import core_algorithms.Individual;
+import core_algorithms.IslandModel;
+import optimization_problems.TSP;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IslandModel_TSP {
+
+    public static void main(String[] args) {
+        int MAX_GEN = 200;
+        double MUTATION_RATE = 0.05;
+        int POPULATION_SIZE = 250; // per island
+        int NUM_CITIES = 26; // choose from 5, 6, 17, 26
+        double ELITISM = 0.2;
+        int NUM_ISLANDS = Runtime.getRuntime().availableProcessors();
+        int MIGRATION_INTERVAL = 10;
+        int MIGRANTS = 5;
+
+        TSP problem = new TSP(NUM_CITIES);
+
+        IslandModel<Integer> islands = new IslandModel<>(
+                () -> new GeneticAlgorithm_TSP(MAX_GEN, MUTATION_RATE, ELITISM, problem),
+                MIGRATION_INTERVAL, MIGRANTS, IslandModel.Topology.RING);
+
+        GeneticAlgorithm_TSP seeder = new GeneticAlgorithm_TSP(MAX_GEN, MUTATION_RATE, ELITISM, problem);
+        List<List<Individual<Integer>>> initPopulations = new ArrayList<>(NUM_ISLANDS);
+        for (int i = 0; i < NUM_ISLANDS; i++) {
+            initPopulations.add(seeder.generateInitPopulation(POPULATION_SIZE, NUM_CITIES));
+        }
+
+        Individual<Integer> best = islands.evolve(initPopulations);
+
+        System.out.println("This is the best " + best);
+        System.out.println("This is the cost " + problem.cost(best.getChromosome()));
+    }
+}
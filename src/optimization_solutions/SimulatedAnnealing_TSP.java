@@ -2,6 +2,7 @@ package optimization_solutions;
 
 import core_algorithms.Problem;
 import core_algorithms.SimulatedAnnealing;
+import optimization_problems.HeldKarpBound;
 import optimization_problems.TSP;
 
 import java.util.List;
@@ -11,6 +12,8 @@ public class SimulatedAnnealing_TSP extends SimulatedAnnealing<List<Integer>> {
     private final static long INIT_TIME = 1;
     private final static double INIT_TEMP = 1e13;
     private final static long MAX_TIME = 100_000_000;
+    //stop once the tour is provably within 1% of the shortest one
+    private final static double MAX_GAP = 0.01;
 
     public SimulatedAnnealing_TSP(Problem<List<Integer>> p) {
         super(INIT_TIME, INIT_TEMP, p);
@@ -22,7 +25,9 @@ public class SimulatedAnnealing_TSP extends SimulatedAnnealing<List<Integer>> {
     }
 
     public static void main(String[] args) {
-        SimulatedAnnealing_TSP agent = new SimulatedAnnealing_TSP(new TSP(5));
+        TSP problem = new TSP(5);
+        SimulatedAnnealing_TSP agent = new SimulatedAnnealing_TSP(problem);
+        agent.setLowerBound(HeldKarpBound.compute(problem), MAX_GAP);
         agent.search();
 
     }
@@ -0,0 +1,30 @@
+package solver_service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of solver results keyed by the content of the problem
+ * (e.g., the digits of a Sudoku puzzle); the least recently used result is evicted first.
+ */
+public class ResultCache {
+    private final Map<String, String> results;
+
+    public ResultCache(int capacity) {
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    //null if the problem has not been solved yet (or its result was evicted)
+    public synchronized String get(String key) {
+        return results.get(key);
+    }
+
+    public synchronized void put(String key, String result) {
+        results.put(key, result);
+    }
+}
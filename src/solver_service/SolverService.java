@@ -0,0 +1,281 @@
+package solver_service;
+
+import core_algorithms.EvolutionResult;
+import core_algorithms.StoppingCriteria;
+import csp_problems.CSPProblem.Variable;
+import csp_problems.Sudoku;
+import csp_solutions.BacktrackingSearch_Sudoku;
+import optimization_problems.HeldKarpBound;
+import optimization_problems.TSP;
+import optimization_solutions.GeneticAlgorithm_TSP;
+import optimization_solutions.SimulatedAnnealing_TSP;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A long-running solver that accepts Sudoku and TSP jobs, one per line, on stdin
+ * or on a local socket, so that the JVM (and the JIT) stays warm across jobs.
+ *
+ * Requests:
+ *   SUDOKU &lt;id&gt; &lt;deadline-ms&gt; &lt;81 digits, row by row, 0 for an empty square&gt;
+ *   TSP &lt;id&gt; &lt;deadline-ms&gt; &lt;5|6|17|26&gt; &lt;SA|GA&gt;
+ * Responses (in the order the jobs finish):
+ *   &lt;id&gt; OK &lt;81 digits&gt;          (Sudoku)
+ *   &lt;id&gt; OK &lt;cost&gt; &lt;city,city,...&gt; (TSP)
+ *   &lt;id&gt; UNSOLVABLE | TIMEOUT | BUSY | ERROR &lt;message&gt;
+ *
+ * Every request waits on its own thread (a virtual thread on Java 21+), while the solvers
+ * themselves run on a fixed pool of one thread per core, behind a bounded queue; a request
+ * that finds the queue full gets BUSY. TSP searches are given 90% of the time left
+ * before the deadline and answer with the best tour found by then; a job that still misses
+ * its deadline is cancelled. Definite results are cached by problem content.
+ */
+public class SolverService {
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int CACHE_CAPACITY = 10_000;
+    private static final Set<Integer> TSP_SIZES = Set.of(5, 6, 17, 26);
+    //stop once a tour is provably within 1% of the shortest one
+    private static final double MAX_GAP = 0.01;
+    //GA parameters, as in GeneticAlgorithm_TSP.main()
+    private static final int MAX_GEN = 200;
+    private static final double MUTATION_RATE = 0.05;
+    private static final int POPULATION_SIZE = 1000;
+    private static final double ELITISM = 0.2;
+    private static final int NO_IMPROVEMENT_WINDOW = 50;
+
+    //one thread per request (or connection), mostly waiting
+    private final ExecutorService requests;
+    //the CPU-bound work (package-private, like cache, so that tests can look inside)
+    final ThreadPoolExecutor solvers;
+    final ResultCache cache;
+
+    //what a job answers, and whether every later request for the same problem may get that answer
+    private record Result(String response, boolean cacheable) {
+    }
+
+    public SolverService(int solverThreads, int queueCapacity, int cacheCapacity) {
+        this.requests = newRequestExecutor();
+        this.solvers = new ThreadPoolExecutor(solverThreads, solverThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+        this.cache = new ResultCache(cacheCapacity);
+    }
+
+    //virtual threads if the JVM has them (Java 21+), plain threads otherwise
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Run one request and wait for its result (or its deadline).
+     * @param request a request line
+     * @return the response line
+     */
+    public String handle(String request) {
+        String[] parts = request.trim().split("\\s+");
+        if (parts.length < 3) {
+            return "- ERROR malformed request: " + request;
+        }
+        String id = parts[1];
+        long deadline;
+        String key;
+        Callable<Result> job;
+        try {
+            deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Long.parseLong(parts[2]));
+            switch (parts[0]) {
+                case "SUDOKU" -> {
+                    String digits = parts.length == 4 ? parts[3] : "";
+                    if (!digits.matches("[0-9]{81}")) {
+                        return id + " ERROR a puzzle must be 81 digits";
+                    }
+                    key = "SUDOKU " + digits;
+                    job = () -> solveSudoku(digits);
+                }
+                case "TSP" -> {
+                    int size = parts.length == 5 ? Integer.parseInt(parts[3]) : 0;
+                    String algorithm = parts.length == 5 ? parts[4] : "";
+                    if (!TSP_SIZES.contains(size) || !(algorithm.equals("SA") || algorithm.equals("GA"))) {
+                        return id + " ERROR expected TSP <id> <deadline-ms> <5|6|17|26> <SA|GA>";
+                    }
+                    key = "TSP " + size + " " + algorithm;
+                    job = () -> solveTsp(size, algorithm, deadline);
+                }
+                default -> {
+                    return id + " ERROR unknown problem type " + parts[0];
+                }
+            }
+        } catch (NumberFormatException e) {
+            return id + " ERROR " + e.getMessage();
+        }
+
+        String cached = cache.get(key);
+        if (cached != null) {
+            return id + " " + cached;
+        }
+        Future<Result> future;
+        try {
+            future = solvers.submit(job);
+        } catch (RejectedExecutionException e) {
+            return id + " BUSY";
+        }
+        try {
+            Result result = future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (result.cacheable()) {
+                cache.put(key, result.response());
+            }
+            return id + " " + result.response();
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return id + " TIMEOUT";
+        } catch (ExecutionException e) {
+            return id + " ERROR " + e.getCause();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return id + " ERROR interrupted";
+        }
+    }
+
+    private static Result solveSudoku(String digits) {
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                rows.append(digits.charAt(i * 9 + j)).append(j < 8 ? ' ' : '\n');
+            }
+        }
+        BacktrackingSearch_Sudoku agent = new BacktrackingSearch_Sudoku(Sudoku.fromText(rows.toString()));
+        if (!(agent.initAC3() && agent.search())) {
+            return new Result("UNSOLVABLE", true);
+        }
+        Map<String, Variable<String, Integer>> solution = agent.getAllVariables();
+        StringBuilder result = new StringBuilder("OK ");
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                List<Integer> domain = solution.get(i + String.valueOf(j)).domain();
+                //a search that reports success must have left exactly one value in every domain
+                if (domain.size() != 1) {
+                    return new Result("ERROR the search left square " + i + j + " unassigned", false);
+                }
+                result.append(domain.get(0));
+            }
+        }
+        return new Result(result.toString(), true);
+    }
+
+    private static Result solveTsp(int size, String algorithm, long deadline) {
+        TSP problem = new TSP(size);
+        double lowerBound = HeldKarpBound.compute(problem);
+        List<Integer> tour;
+        //leave some of the remaining time to report the result before the deadline
+        long budget = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()) * 9 / 10);
+        //a search cut short by the deadline of this request may have missed a tour that
+        //a request with more time would find, so its result is not served to other requests
+        boolean cutShort;
+        if (algorithm.equals("SA")) {
+            SimulatedAnnealing_TSP agent = new SimulatedAnnealing_TSP(problem);
+            agent.setLowerBound(lowerBound, MAX_GAP);
+            agent.setTimeBudget(budget);
+            tour = agent.anneal();
+            cutShort = agent.stoppedByTimeBudget();
+        } else {
+            GeneticAlgorithm_TSP agent = new GeneticAlgorithm_TSP(MAX_GEN, MUTATION_RATE, ELITISM, problem);
+            agent.setStoppingCriteria(new StoppingCriteria(
+                    NO_IMPROVEMENT_WINDOW, 1 / (lowerBound * (1 + MAX_GAP)), budget, 0));
+            EvolutionResult<Integer> result = agent.evolve(agent.generateInitPopulation(POPULATION_SIZE, size));
+            tour = result.best().getChromosome();
+            cutShort = result.stopReason() == EvolutionResult.StopReason.TIME_BUDGET;
+        }
+        StringJoiner cities = new StringJoiner(",");
+        for (int city : tour) {
+            cities.add(String.valueOf(city));
+        }
+        double cost = problem.cost(tour);
+        boolean cacheable = !cutShort || HeldKarpBound.gap(cost, lowerBound) <= MAX_GAP;
+        return new Result("OK " + cost + " " + cities, cacheable);
+    }
+
+    /**
+     * Read requests from in until the end of the stream, running each one on its own thread,
+     * and write the responses to out as the jobs finish.
+     */
+    public void serve(BufferedReader in, PrintWriter out) throws IOException {
+        List<Future<?>> pending = new ArrayList<>();
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String request = line;
+            pending.removeIf(Future::isDone);
+            pending.add(requests.submit(() -> {
+                String response = handle(request);
+                synchronized (out) {
+                    out.println(response);
+                    out.flush();
+                }
+            }));
+        }
+        //answer the requests still running before returning
+        for (Future<?> f : pending) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Accept connections on the loopback interface; each connection is served like stdin.
+     */
+    public void listen(int port) throws IOException {
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            while (true) {
+                Socket socket = server.accept();
+                requests.submit(() -> {
+                    try (socket) {
+                        serve(new BufferedReader(new InputStreamReader(socket.getInputStream())),
+                                new PrintWriter(new OutputStreamWriter(socket.getOutputStream())));
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                    }
+                });
+            }
+        }
+    }
+
+    public void shutdown() {
+        requests.shutdownNow();
+        solvers.shutdownNow();
+    }
+
+    /**
+     * @param args none to read requests from stdin, or "--port N" to listen on localhost:N
+     */
+    public static void main(String[] args) throws IOException {
+        SolverService service = new SolverService(
+                Runtime.getRuntime().availableProcessors(), QUEUE_CAPACITY, CACHE_CAPACITY);
+        try {
+            if (args.length == 2 && args[0].equals("--port")) {
+                service.listen(Integer.parseInt(args[1]));
+            } else {
+                service.serve(new BufferedReader(new InputStreamReader(System.in)),
+                        new PrintWriter(new OutputStreamWriter(System.out)));
+            }
+        } finally {
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package core_algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckpointerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void restoredRandomContinuesTheSameSequence() throws IOException {
+        Random random = new Random(42);
+        random.nextGaussian();
+
+        Random restored = Checkpointer.restoreRandom(Checkpointer.randomState(random));
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(random.nextLong(), restored.nextLong());
+        }
+        assertEquals(random.nextGaussian(), restored.nextGaussian());
+    }
+
+    @Test
+    void restoreRandomRejectsOtherClasses() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new ArrayList<>(List.of(1, 2, 3)));
+        }
+
+        assertThrows(InvalidClassException.class, () -> Checkpointer.restoreRandom(bytes.toByteArray()));
+    }
+
+    //a stream over a length (or count) followed by a few bytes
+    private static DataInputStream lengthThenBytes(int length) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(length);
+            out.write(new byte[8]);
+        }
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    @Test
+    void readBytesRejectsInvalidLengths() throws IOException {
+        for (int length : new int[]{-1, Integer.MIN_VALUE, Checkpointer.MAX_BYTES + 1, Integer.MAX_VALUE}) {
+            DataInputStream in = lengthThenBytes(length);
+            assertThrows(IOException.class, () -> Checkpointer.readBytes(in), "length " + length);
+        }
+        assertEquals(8, Checkpointer.readBytes(lengthThenBytes(8)).length);
+    }
+
+    @Test
+    void listsWithANegativeCountAreRejected() throws IOException {
+        DataInputStream in = lengthThenBytes(-5);
+
+        assertThrows(IOException.class, () -> Codec.listOf(Codec.INT).read(in));
+    }
+
+    @Test
+    void listsLongerThanTheFileEndWithoutAllocatingTheirCount() throws IOException {
+        DataInputStream in = lengthThenBytes(Integer.MAX_VALUE);
+
+        assertThrows(EOFException.class, () -> Codec.listOf(Codec.INT).read(in));
+    }
+
+    @Test
+    void closeWritesTheLastCheckpoint() throws IOException {
+        Checkpointer checkpointer = new Checkpointer(dir.resolve("checkpoint"));
+        assertNull(checkpointer.open());
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            checkpointer.save(out -> out.writeInt(value));
+        }
+        checkpointer.close();
+
+        try (DataInputStream in = checkpointer.open()) {
+            assertEquals(99, in.readInt());
+        }
+    }
+
+    @Test
+    void closeWritesTheLastCheckpointOfAnInterruptedThread() throws IOException {
+        Checkpointer checkpointer = new Checkpointer(dir.resolve("checkpoint"));
+        checkpointer.save(out -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            out.writeInt(7);
+        });
+        Thread.currentThread().interrupt();
+        try {
+            checkpointer.close();
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+
+        try (DataInputStream in = checkpointer.open()) {
+            assertEquals(7, in.readInt());
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package core_algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeneticAlgorithmTest {
+
+    //bit strings whose fitness is one more than their number of ones
+    static class OneMax extends GeneticAlgorithm<Integer> {
+        //time calcFitnessScore() takes, to run out of a time budget
+        private final long sleepMillis;
+
+        OneMax(int maxGen, double mRate, long sleepMillis) {
+            super(maxGen, mRate, 0.2);
+            this.sleepMillis = sleepMillis;
+        }
+
+        //one-point crossover
+        public Individual<Integer> reproduce(Individual<Integer> p1, Individual<Integer> p2) {
+            int cut = getRandom().nextInt(p1.getChromosome().size() + 1);
+            List<Integer> child = new ArrayList<>(p1.getChromosome().subList(0, cut));
+            child.addAll(p2.getChromosome().subList(cut, p2.getChromosome().size()));
+            return newIndividual(child);
+        }
+
+        //flip one bit
+        public Individual<Integer> mutate(Individual<Integer> i) {
+            List<Integer> mutant = new ArrayList<>(i.getChromosome());
+            int bit = getRandom().nextInt(mutant.size());
+            mutant.set(bit, 1 - mutant.get(bit));
+            return newIndividual(mutant);
+        }
+
+        public double calcFitnessScore(List<Integer> chromosome) {
+            if (sleepMillis > 0) {
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            double ones = 0;
+            for (int gene : chromosome) {
+                ones += gene;
+            }
+            return 1 + ones;
+        }
+
+        List<Individual<Integer>> randomPopulation(Random random, int size, int length) {
+            List<Individual<Integer>> population = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                List<Integer> chromosome = new ArrayList<>();
+                for (int j = 0; j < length; j++) {
+                    chromosome.add(random.nextInt(2));
+                }
+                population.add(newIndividual(chromosome));
+            }
+            return population;
+        }
+
+        //size distinct individuals with the same chromosome
+        List<Individual<Integer>> identicalPopulation(int size, int length, int gene) {
+            List<Individual<Integer>> population = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                population.add(newIndividual(new ArrayList<>(Collections.nCopies(length, gene))));
+            }
+            return population;
+        }
+    }
+
+    private static void assertTrajectory(EvolutionResult<Integer> result) {
+        List<Double> trajectory = result.bestFitnessTrajectory();
+        assertEquals(result.generations(), trajectory.size());
+        for (int g = 1; g < trajectory.size(); g++) {
+            assertTrue(trajectory.get(g) >= trajectory.get(g - 1), "generation " + (g + 1));
+        }
+        assertEquals(result.best().getFitnessScore(), trajectory.get(trajectory.size() - 1));
+    }
+
+    @Test
+    void runStopsAfterMaxGenGenerations() {
+        OneMax agent = new OneMax(7, 0.1, 0);
+        agent.setSeed(1);
+
+        EvolutionResult<Integer> result = agent.evolve(agent.randomPopulation(new Random(1), 30, 40));
+
+        assertEquals(EvolutionResult.StopReason.MAX_GEN, result.stopReason());
+        assertEquals(7, result.generations());
+        assertTrajectory(result);
+    }
+
+    @Test
+    void runStopsAfterAWindowWithoutImprovement() {
+        //every individual is already as fit as can be, so no generation improves on it
+        OneMax agent = new OneMax(100, 0.1, 0);
+        agent.setSeed(2);
+        agent.setStoppingCriteria(new StoppingCriteria(5, Double.POSITIVE_INFINITY, 0, 0));
+
+        EvolutionResult<Integer> result = agent.evolve(agent.identicalPopulation(20, 10, 1));
+
+        assertEquals(EvolutionResult.StopReason.NO_IMPROVEMENT, result.stopReason());
+        assertEquals(5, result.generations());
+        assertTrajectory(result);
+        assertEquals(Collections.nCopies(5, 11.0), result.bestFitnessTrajectory());
+    }
+
+    @Test
+    void runStopsOnceTheTargetIsReached() {
+        OneMax agent = new OneMax(100, 0.1, 0);
+        agent.setSeed(3);
+        List<Individual<Integer>> population = agent.randomPopulation(new Random(3), 30, 40);
+        //the initial population is already that fit, so the first generation is too
+        agent.setStoppingCriteria(new StoppingCriteria(0, Replacement.fittest(population).getFitnessScore(), 0, 0));
+
+        EvolutionResult<Integer> result = agent.evolve(population);
+
+        assertEquals(EvolutionResult.StopReason.TARGET_REACHED, result.stopReason());
+        assertEquals(1, result.generations());
+        assertTrajectory(result);
+    }
+
+    @Test
+    void runStopsWhenItsTimeBudgetIsSpent() {
+        //each generation of 10 individuals takes at least 10 ms
+        OneMax agent = new OneMax(100_000, 0.1, 1);
+        agent.setSeed(4);
+        agent.setStoppingCriteria(new StoppingCriteria(0, Double.POSITIVE_INFINITY, 50, 0));
+
+        EvolutionResult<Integer> result = agent.evolve(agent.randomPopulation(new Random(4), 10, 40));
+
+        assertEquals(EvolutionResult.StopReason.TIME_BUDGET, result.stopReason());
+        assertTrue(result.generations() >= 1 && result.generations() < 100_000);
+        assertTrajectory(result);
+    }
+
+    @Test
+    void runStopsWhenTheDiversityCollapses() {
+        //children of identical parents are identical, and none is mutated
+        OneMax agent = new OneMax(100, 0, 0);
+        agent.setSeed(5);
+        agent.setStoppingCriteria(new StoppingCriteria(0, Double.POSITIVE_INFINITY, 0, 0.5));
+
+        EvolutionResult<Integer> result = agent.evolve(agent.identicalPopulation(20, 10, 0));
+
+        assertEquals(EvolutionResult.StopReason.DIVERSITY_COLLAPSE, result.stopReason());
+        assertEquals(1, result.generations());
+        assertTrajectory(result);
+    }
+
+    @Test
+    void mutationRateRisesAsTheDiversityFallsBelowTheTarget() {
+        double target = 0.9;
+        double max = 0.6;
+        OneMax agent = new OneMax(20, 0.1, 0);
+        agent.setSeed(6);
+        agent.setAdaptiveMutation(target, max);
+        //the rate used for a generation was adapted to the diversity of the previous one
+        List<Double> diversities = new ArrayList<>();
+        List<Double> rates = new ArrayList<>();
+        agent.evolve(agent.identicalPopulation(20, 30, 0), (generation, population) -> {
+            rates.add(agent.getMutationRate());
+            diversities.add(agent.diversity(population));
+            return population;
+        });
+
+        assertEquals(0.1, rates.get(0));
+        boolean raised = false;
+        for (int g = 1; g < rates.size(); g++) {
+            double diversity = diversities.get(g - 1);
+            double expected = diversity >= target ? 0.1 : 0.1 + (max - 0.1) * (1 - diversity / target);
+            assertEquals(expected, rates.get(g), 1e-12, "generation " + (g + 1));
+            raised |= rates.get(g) > 0.1;
+        }
+        assertTrue(raised);
+    }
+
+    @Test
+    void mutationRateStaysPutWhileThePopulationIsDiverse() {
+        OneMax agent = new OneMax(10, 0.1, 0);
+        agent.setSeed(7);
+        agent.setAdaptiveMutation(0.1, 0.6);
+
+        List<Double> rates = new ArrayList<>();
+        agent.evolve(agent.randomPopulation(new Random(7), 30, 40), (generation, population) -> {
+            assertTrue(agent.diversity(population) >= 0.1);
+            rates.add(agent.getMutationRate());
+            return population;
+        });
+
+        assertEquals(Collections.nCopies(10, 0.1), rates);
+        assertEquals(0.1, agent.getMutationRate());
+    }
+}
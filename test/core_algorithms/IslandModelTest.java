@@ -0,0 +1,163 @@
+package core_algorithms;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IslandModelTest {
+
+    private static final int ISLANDS = 3;
+    private static final int SIZE = 10;
+    private static final int MIGRANTS = 2;
+
+    //a GA whose generations change nothing, so that only migrations change a population;
+    //it records the population it is given at each generation
+    static class RecordingGA extends GeneticAlgorithm<Integer> {
+        final List<List<Individual<Integer>>> received = new ArrayList<>();
+
+        RecordingGA(int maxGen) {
+            super(maxGen, 0, 0);
+        }
+
+        public List<Individual<Integer>> nextGeneration(List<Individual<Integer>> population) {
+            received.add(population);
+            try {
+                //keep the islands running side by side
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new ArrayList<>(population);
+        }
+
+        public Individual<Integer> reproduce(Individual<Integer> p1, Individual<Integer> p2) {
+            throw new UnsupportedOperationException();
+        }
+
+        public Individual<Integer> mutate(Individual<Integer> i) {
+            throw new UnsupportedOperationException();
+        }
+
+        public double calcFitnessScore(List<Integer> chromosome) {
+            return chromosome.get(1);
+        }
+    }
+
+    //each chromosome is its island and its fitness; island 1 holds the fittest individuals,
+    //so the best is not simply on the last island
+    private static List<Individual<Integer>> initPopulation(int island) {
+        int base = island == 1 ? 300 : 100 * island;
+        List<Individual<Integer>> population = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            population.add(new Individual<>(List.of(island, base + i), base + i));
+        }
+        Collections.shuffle(population, new Random(island));
+        return population;
+    }
+
+    private static Set<Individual<Integer>> identitySet(List<Individual<Integer>> individuals) {
+        Set<Individual<Integer>> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(individuals);
+        return set;
+    }
+
+    //the individuals of a that are not in b, counting copies (a migrant may come back to an
+    //island that still holds it, which then holds it twice)
+    private static List<Individual<Integer>> minus(List<Individual<Integer>> a, List<Individual<Integer>> b) {
+        Map<Individual<Integer>, Integer> copies = new IdentityHashMap<>();
+        for (Individual<Integer> i : b) {
+            copies.merge(i, 1, Integer::sum);
+        }
+        List<Individual<Integer>> difference = new ArrayList<>();
+        for (Individual<Integer> i : a) {
+            if (copies.merge(i, -1, Integer::sum) < 0) {
+                difference.add(i);
+            }
+        }
+        return difference;
+    }
+
+    //migrants are sent from the population an island is about to hand to its next generation
+    private static boolean seenOnAnotherIsland(List<RecordingGA> gas, int island, Individual<Integer> migrant) {
+        for (int other = 0; other < gas.size(); other++) {
+            if (other != island) {
+                for (List<Individual<Integer>> population : gas.get(other).received) {
+                    if (identitySet(population).contains(migrant)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @ParameterizedTest
+    @EnumSource(IslandModel.Topology.class)
+    void migrantsReplaceTheLeastFitIndividuals(IslandModel.Topology topology) {
+        List<RecordingGA> gas = new ArrayList<>();
+        IslandModel<Integer> model = new IslandModel<>(() -> {
+            RecordingGA ga = new RecordingGA(100);
+            ga.setSeed(gas.size());
+            gas.add(ga);
+            return ga;
+        }, 2, MIGRANTS, topology);
+        List<List<Individual<Integer>>> initPopulations = new ArrayList<>();
+        for (int i = 0; i < ISLANDS; i++) {
+            initPopulations.add(initPopulation(i));
+        }
+
+        Individual<Integer> best = model.evolve(initPopulations);
+
+        int migrations = 0;
+        Individual<Integer> fittest = null;
+        for (int island = 0; island < ISLANDS; island++) {
+            List<List<Individual<Integer>>> received = gas.get(island).received;
+            assertEquals(100, received.size());
+            for (int g = 1; g < received.size(); g++) {
+                List<Individual<Integer>> before = received.get(g - 1);
+                List<Individual<Integer>> after = received.get(g);
+                assertEquals(SIZE, after.size());
+                List<Individual<Integer>> removed = minus(before, after);
+                List<Individual<Integer>> added = minus(after, before);
+                List<Individual<Integer>> kept = minus(before, removed);
+
+                assertTrue(added.size() <= MIGRANTS);
+                if (g % 2 == 1) {
+                    //no migration happens after an odd generation
+                    assertTrue(added.isEmpty());
+                }
+                assertEquals(added.size(), removed.size());
+                for (Individual<Integer> migrant : added) {
+                    assertTrue(seenOnAnotherIsland(gas, island, migrant), "unknown migrant " + migrant);
+                }
+                for (Individual<Integer> r : removed) {
+                    for (Individual<Integer> k : kept) {
+                        assertTrue(r.getFitnessScore() <= k.getFitnessScore(),
+                                "island " + island + " replaced " + r + " but kept " + k);
+                    }
+                }
+                migrations += added.size();
+            }
+            for (List<Individual<Integer>> population : received) {
+                Individual<Integer> f = Replacement.fittest(population);
+                if (fittest == null || f.getFitnessScore() > fittest.getFitnessScore()) {
+                    fittest = f;
+                }
+            }
+        }
+        assertTrue(migrations > 0, "no migrant ever arrived");
+        assertSame(fittest, best);
+        assertEquals(309, best.getFitnessScore());
+    }
+}
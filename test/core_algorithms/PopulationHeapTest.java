@@ -0,0 +1,82 @@
+package core_algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PopulationHeapTest {
+
+    private static Individual<Integer> individual(int id, double fitness) {
+        return new Individual<>(List.of(id), fitness);
+    }
+
+    private static double lowestScore(List<Individual<Integer>> population) {
+        return population.stream().mapToDouble(Individual::getFitnessScore).min().orElseThrow();
+    }
+
+    @Test
+    void worstIsTheLeastFitIndividual() {
+        List<Individual<Integer>> population = List.of(
+                individual(0, 5), individual(1, 2), individual(2, 9), individual(3, 1), individual(4, 7));
+
+        PopulationHeap<Integer> heap = new PopulationHeap<>(population);
+
+        assertSame(population.get(3), heap.worst());
+    }
+
+    @Test
+    void replaceWorstKeepsTheHeapOrderAndTheOtherSlots() {
+        Random random = new Random(1);
+        List<Individual<Integer>> population = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            population.add(individual(i, random.nextDouble()));
+        }
+        PopulationHeap<Integer> heap = new PopulationHeap<>(population);
+        //the same replacements, applied naively to a plain list
+        List<Individual<Integer>> expected = new ArrayList<>(population);
+
+        for (int i = 0; i < 1000; i++) {
+            Individual<Integer> child = individual(1000 + i, random.nextDouble() * 2);
+            int worstSlot = heap.population().indexOf(heap.worst());
+            assertEquals(lowestScore(expected), heap.worst().getFitnessScore());
+            heap.replaceWorst(child);
+            expected.set(worstSlot, child);
+            assertEquals(expected, heap.population());
+        }
+        assertEquals(lowestScore(expected), heap.worst().getFitnessScore());
+        assertEquals(expected, heap.toList());
+    }
+
+    @Test
+    void replaceAnySlotRestoresTheHeapOrder() {
+        Random random = new Random(2);
+        List<Individual<Integer>> population = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            population.add(individual(i, random.nextDouble()));
+        }
+        PopulationHeap<Integer> heap = new PopulationHeap<>(population);
+        List<Individual<Integer>> expected = new ArrayList<>(population);
+
+        for (int i = 0; i < 500; i++) {
+            int slot = random.nextInt(expected.size());
+            Individual<Integer> replacement = individual(100 + i, random.nextDouble());
+            heap.replace(slot, replacement);
+            expected.set(slot, replacement);
+            assertEquals(lowestScore(expected), heap.worst().getFitnessScore());
+        }
+        assertEquals(expected, heap.population());
+    }
+
+    @Test
+    void populationIsReadOnly() {
+        PopulationHeap<Integer> heap = new PopulationHeap<>(List.of(individual(0, 1), individual(1, 2)));
+
+        assertThrows(UnsupportedOperationException.class, () -> heap.population().set(0, individual(2, 3)));
+    }
+}
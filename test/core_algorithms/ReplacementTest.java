@@ -0,0 +1,79 @@
+package core_algorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ReplacementTest {
+
+    private static List<Individual<Integer>> population(Random random, int size, int distinctScores) {
+        List<Individual<Integer>> population = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            population.add(new Individual<>(List.of(i), random.nextInt(distinctScores)));
+        }
+        return population;
+    }
+
+    private static double[] sortedScores(List<Individual<Integer>> individuals) {
+        double[] scores = individuals.stream().mapToDouble(Individual::getFitnessScore).toArray();
+        Arrays.sort(scores);
+        return scores;
+    }
+
+    @Test
+    void selectFittestMovesTheKFittestToTheFront() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < 1000; trial++) {
+            int size = 1 + random.nextInt(100);
+            //few distinct scores, so that many individuals tie with the pivot
+            List<Individual<Integer>> population = population(random, size, 1 + random.nextInt(10));
+            int k = random.nextInt(size + 1);
+            List<Individual<Integer>> sorted = new ArrayList<>(population);
+            Collections.sort(sorted);
+
+            Replacement.selectFittest(population, k, random);
+
+            assertArrayEquals(sortedScores(sorted.subList(0, k)), sortedScores(population.subList(0, k)));
+            assertEquals(size, population.size());
+        }
+    }
+
+    @Test
+    void selectFittestKeepsEveryIndividual() {
+        Random random = new Random(2);
+        List<Individual<Integer>> population = population(random, 500, 50);
+        List<Individual<Integer>> before = new ArrayList<>(population);
+
+        Replacement.selectFittest(population, 100, random);
+
+        assertEquals(before.size(), population.size());
+        assertArrayEquals(sortedScores(before), sortedScores(population));
+    }
+
+    @Test
+    void selectFittestIsReproducibleWithTheSameSeed() {
+        List<Individual<Integer>> a = population(new Random(3), 200, 20);
+        List<Individual<Integer>> b = new ArrayList<>(a);
+
+        Replacement.selectFittest(a, 40, new Random(7));
+        Replacement.selectFittest(b, 40, new Random(7));
+
+        assertEquals(a, b);
+    }
+
+    @Test
+    void fittestReturnsTheHighestScore() {
+        List<Individual<Integer>> population = population(new Random(4), 100, 1000);
+        Individual<Integer> expected = Collections.min(population);
+
+        assertSame(expected, Replacement.fittest(population));
+    }
+}
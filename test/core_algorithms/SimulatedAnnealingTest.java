@@ -0,0 +1,210 @@
+package core_algorithms;
+
+import optimization_problems.TSP;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulatedAnnealingTest {
+
+    //runs exactly iterations iterations, multiplying the temperature by cooling at each one
+    static class ShortAnnealing extends SimulatedAnnealing<List<Integer>> {
+        private final double cooling;
+        private final long iterations;
+
+        ShortAnnealing(Problem<List<Integer>> p, double temp, double cooling, long iterations) {
+            super(0, temp, p);
+            this.cooling = cooling;
+            this.iterations = iterations;
+        }
+
+        public double schedule(long time, double temp) {
+            return time >= iterations ? 0 : temp * cooling;
+        }
+    }
+
+    //a TSP that remembers the lowest cost it was asked for
+    static class RecordingTSP implements Problem<List<Integer>> {
+        private final TSP tsp;
+        double lowestCost = Double.POSITIVE_INFINITY;
+
+        RecordingTSP(TSP tsp) {
+            this.tsp = tsp;
+        }
+
+        public List<Integer> generateNewState(List<Integer> currentState) {
+            return tsp.generateNewState(currentState);
+        }
+
+        public List<Integer> generateNewState(List<Integer> currentState, Random random) {
+            return tsp.generateNewState(currentState, random);
+        }
+
+        public double cost(List<Integer> state) {
+            double cost = tsp.cost(state);
+            lowestCost = Math.min(lowestCost, cost);
+            return cost;
+        }
+
+        public List<Integer> getInitState() {
+            return tsp.getInitState();
+        }
+    }
+
+    //a TSP that interrupts the searching thread once it has generated a number of states
+    static class InterruptingTSP implements Problem<List<Integer>> {
+        private final TSP tsp;
+        private long remaining;
+
+        InterruptingTSP(TSP tsp, long interruptAfter) {
+            this.tsp = tsp;
+            this.remaining = interruptAfter;
+        }
+
+        public List<Integer> generateNewState(List<Integer> currentState) {
+            return generateNewState(currentState, new Random());
+        }
+
+        public List<Integer> generateNewState(List<Integer> currentState, Random random) {
+            if (--remaining == 0) {
+                Thread.currentThread().interrupt();
+            }
+            return tsp.generateNewState(currentState, random);
+        }
+
+        public double cost(List<Integer> state) {
+            return tsp.cost(state);
+        }
+
+        public List<Integer> getInitState() {
+            return tsp.getInitState();
+        }
+    }
+
+    //a TSP whose cost() fails once it has been called a number of times
+    static class FailingTSP extends TSP {
+        private long remaining;
+
+        FailingTSP(int size, long failAfter) {
+            super(size);
+            this.remaining = failAfter;
+        }
+
+        public double cost(List<Integer> state) {
+            if (--remaining == 0) {
+                throw new IllegalStateException("cost() failed");
+            }
+            return super.cost(state);
+        }
+    }
+
+    //the writer threads of checkpointers that have been closed end shortly after
+    static boolean checkpointWriterEnds() throws InterruptedException {
+        long giveUp = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(t -> t.getName().equals("checkpoint-writer"))) {
+            if (System.nanoTime() - giveUp >= 0) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void annealReturnsTheBestStateFound() {
+        //a state cheaper than the best so far is always accepted, so the best state found
+        //is the cheapest state ever evaluated; the search stays hot until the end,
+        //so the final state is (almost surely) not the best one
+        RecordingTSP problem = new RecordingTSP(new TSP(26));
+        ShortAnnealing agent = new ShortAnnealing(problem, 100, 1, 20_000);
+        agent.setSeed(1);
+
+        List<Integer> best = agent.anneal();
+
+        assertEquals(problem.lowestCost, new TSP(26).cost(best));
+    }
+
+    @Test
+    void resumedSearchMatchesAnUninterruptedSearch() {
+        TSP problem = new TSP(26);
+        //cooling slowly enough to keep finding better tours after the interruption
+        ShortAnnealing uninterrupted = new ShortAnnealing(problem, 100, 0.9995, 20_000);
+        uninterrupted.setSeed(3);
+        List<Integer> expected = uninterrupted.anneal();
+
+        //the same seeded search, interrupted after about 3000 iterations...
+        Path checkpoint = dir.resolve("sa.checkpoint");
+        ShortAnnealing first = new ShortAnnealing(new InterruptingTSP(problem, 3000), 100, 0.9995, 20_000);
+        first.setSeed(3);
+        first.setCheckpoint(checkpoint, 1000, Codec.listOf(Codec.INT));
+        try {
+            first.anneal();
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        assertTrue(Files.exists(checkpoint));
+        //...and resumed by a new, unseeded search: its states and random state come from the file
+        ShortAnnealing second = new ShortAnnealing(problem, 100, 0.9995, 20_000);
+        second.setCheckpoint(checkpoint, 1000, Codec.listOf(Codec.INT));
+
+        assertEquals(expected, second.anneal());
+    }
+
+    @Test
+    void timeBudgetStopsTheSearchWithItsBestState() {
+        RecordingTSP problem = new RecordingTSP(new TSP(26));
+        ShortAnnealing agent = new ShortAnnealing(problem, 100, 1, Long.MAX_VALUE);
+        agent.setTimeBudget(50);
+
+        long start = System.nanoTime();
+        List<Integer> best = agent.anneal();
+
+        assertTrue(agent.stoppedByTimeBudget());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(problem.lowestCost, new TSP(26).cost(best));
+    }
+
+    @Test
+    void searchThatEndsOnItsOwnIsNotStoppedByTheTimeBudget() {
+        ShortAnnealing agent = new ShortAnnealing(new TSP(5), 100, 0.99, 1000);
+        agent.setTimeBudget(TimeUnit.MINUTES.toMillis(1));
+
+        agent.anneal();
+
+        assertFalse(agent.stoppedByTimeBudget());
+    }
+
+    @Test
+    void failedSearchClosesItsCheckpointer() throws InterruptedException {
+        ShortAnnealing agent = new ShortAnnealing(new FailingTSP(26, 5000), 100, 1, 20_000);
+        agent.setCheckpoint(dir.resolve("sa.checkpoint"), 100, Codec.listOf(Codec.INT));
+
+        assertThrows(IllegalStateException.class, agent::anneal);
+
+        assertTrue(checkpointWriterEnds());
+        assertTrue(Files.exists(dir.resolve("sa.checkpoint")));
+    }
+
+    @Test
+    void checkpointIntervalMustBePositive() {
+        ShortAnnealing agent = new ShortAnnealing(new TSP(5), 100, 1, 10);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> agent.setCheckpoint(dir.resolve("sa.checkpoint"), 0, Codec.listOf(Codec.INT)));
+    }
+}
@@ -0,0 +1,87 @@
+package optimization_problems;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeldKarpBoundTest {
+
+    //length of the shortest tour, by trying every tour that starts at city 0
+    private static int optimum(int[][] distances) {
+        int n = distances.length;
+        int[] tour = new int[n];
+        for (int i = 0; i < n; i++) {
+            tour[i] = i;
+        }
+        return shortest(distances, tour, 1);
+    }
+
+    private static int shortest(int[][] distances, int[] tour, int k) {
+        int n = tour.length;
+        if (k == n) {
+            int length = distances[tour[n - 1]][tour[0]];
+            for (int i = 0; i + 1 < n; i++) {
+                length += distances[tour[i]][tour[i + 1]];
+            }
+            return length;
+        }
+        int best = Integer.MAX_VALUE;
+        for (int i = k; i < n; i++) {
+            swap(tour, k, i);
+            best = Math.min(best, shortest(distances, tour, k + 1));
+            swap(tour, k, i);
+        }
+        return best;
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    @Test
+    void boundOfTheLargeSamplesIsTheirKnownOptimum() {
+        //gr17 and fri26 from TSPLIB, whose shortest tours are 2085 and 937
+        assertEquals(2085, HeldKarpBound.compute(new TSP(17)));
+        assertEquals(937, HeldKarpBound.compute(new TSP(26)));
+    }
+
+    @Test
+    void boundOfTheSmallSamplesIsAtMostTheirOptimum() {
+        for (int size : new int[]{5, 6}) {
+            TSP problem = new TSP(size);
+            double bound = HeldKarpBound.compute(problem);
+            int optimum = optimum(problem.getDistanceMatrix());
+            assertTrue(bound <= optimum, "size " + size + ": " + bound + " > " + optimum);
+            assertTrue(bound > 0);
+        }
+    }
+
+    @Test
+    void boundOfRandomInstancesIsAtMostTheirOptimum() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < 200; trial++) {
+            int n = 4 + random.nextInt(5);
+            int[][] distances = new int[n][n];
+            for (int a = 0; a < n; a++) {
+                for (int b = a + 1; b < n; b++) {
+                    distances[a][b] = 1 + random.nextInt(100);
+                    distances[b][a] = distances[a][b];
+                }
+            }
+            double bound = HeldKarpBound.compute(distances, 1000);
+            int optimum = optimum(distances);
+            assertTrue(bound <= optimum, "trial " + trial + ": " + bound + " > " + optimum);
+        }
+    }
+
+    @Test
+    void gapIsRelativeToTheBound() {
+        assertEquals(0.05, HeldKarpBound.gap(105, 100), 1e-12);
+        assertEquals(0, HeldKarpBound.gap(937, 937));
+    }
+}
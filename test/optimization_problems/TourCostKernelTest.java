@@ -0,0 +1,125 @@
+package optimization_problems;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TourCostKernelTest {
+
+    //a random symmetric matrix of n cities whose distances are at most maxDistance
+    private static int[][] distances(Random random, int n, int maxDistance) {
+        int[][] distances = new int[n][n];
+        for (int a = 0; a < n; a++) {
+            for (int b = a + 1; b < n; b++) {
+                distances[a][b] = 1 + random.nextInt(maxDistance);
+                distances[b][a] = distances[a][b];
+            }
+        }
+        return distances;
+    }
+
+    private static List<Integer> shuffledTour(Random random, int n) {
+        List<Integer> tour = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            tour.add(i);
+        }
+        Collections.shuffle(tour, random);
+        return tour;
+    }
+
+    //count shuffled tours, back to back
+    private static int[] tours(Random random, int n, int count) {
+        int[] tours = new int[count * n];
+        for (int t = 0; t < count; t++) {
+            List<Integer> tour = shuffledTour(random, n);
+            for (int i = 0; i < n; i++) {
+                tours[t * n + i] = tour.get(i);
+            }
+        }
+        return tours;
+    }
+
+    private static double[] expectedCosts(int[][] distances, int[] tours, int count) {
+        int n = distances.length;
+        double[] costs = new double[count];
+        for (int t = 0; t < count; t++) {
+            long total = 0;
+            for (int i = 0; i < n; i++) {
+                total += distances[tours[t * n + i]][tours[t * n + (i + 1) % n]];
+            }
+            costs[t] = total;
+        }
+        return costs;
+    }
+
+    @Test
+    void vectorKernelIsUsedWhenTheModuleIsPresent() {
+        //the tests run with --add-modules jdk.incubator.vector (see build.gradle)
+        assertEquals(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+                        && !"false".equals(System.getProperty("tsp.vector")),
+                TourCostKernel.VECTORIZED);
+    }
+
+    @Test
+    void kernelsMatchTheLengthOfEachTour() {
+        //sizes below, at, and between multiples of every vector width (4 to 16 int lanes)
+        Random random = new Random(1);
+        for (int n = 2; n <= 70; n++) {
+            int[][] distances = distances(random, n, 10_000);
+            int[] flat = TourCostKernel.flatten(distances);
+            int count = 1 + random.nextInt(5);
+            int[] tours = tours(random, n, count);
+            double[] expected = expectedCosts(distances, tours, count);
+
+            double[] costs = new double[count];
+            TourCostKernel.costs(flat, n, tours, count, costs);
+            assertArrayEquals(expected, costs, "costs(), " + n + " cities");
+            double[] scalarCosts = new double[count];
+            TourCostKernel.scalarCosts(flat, n, tours, count, scalarCosts);
+            assertArrayEquals(expected, scalarCosts, "scalarCosts(), " + n + " cities");
+        }
+    }
+
+    @Test
+    void longToursDoNotOverflow() {
+        //each distance fits in an int even after adding 16 of them, but the tours do not
+        Random random = new Random(2);
+        int n = 67;
+        int[][] distances = distances(random, n, Integer.MAX_VALUE / 16);
+        int[] tours = tours(random, n, 3);
+        double[] expected = expectedCosts(distances, tours, 3);
+
+        double[] costs = new double[3];
+        TourCostKernel.costs(TourCostKernel.flatten(distances), n, tours, 3, costs);
+        double[] scalarCosts = new double[3];
+        TourCostKernel.scalarCosts(TourCostKernel.flatten(distances), n, tours, 3, scalarCosts);
+
+        assertArrayEquals(expected, costs);
+        assertArrayEquals(expected, scalarCosts);
+    }
+
+    @Test
+    void batchCostMatchesCost() {
+        Random random = new Random(3);
+        for (int size : new int[]{5, 6, 17, 26}) {
+            TSP problem = new TSP(size);
+            List<List<Integer>> states = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                states.add(shuffledTour(random, size));
+            }
+
+            double[] costs = new double[states.size()];
+            problem.batchCost(states, costs);
+
+            for (int i = 0; i < states.size(); i++) {
+                assertEquals(problem.cost(states.get(i)), costs[i], "size " + size);
+            }
+        }
+    }
+}
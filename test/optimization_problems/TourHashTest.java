@@ -0,0 +1,85 @@
+package optimization_problems;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class TourHashTest {
+
+    private static List<Integer> randomTour(Random random, int size) {
+        List<Integer> tour = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tour.add(i);
+        }
+        Collections.shuffle(tour, random);
+        return tour;
+    }
+
+    @Test
+    void afterSwapMatchesAFullRehash() {
+        Random random = new Random(1);
+        for (int size : new int[]{3, 4, 5, 17, 26}) {
+            TourHash hash = new TourHash(size);
+            for (int trial = 0; trial < 2000; trial++) {
+                List<Integer> tour = randomTour(random, size);
+                //all pairs are covered over the trials, including adjacent ones and (0, n-1)
+                int i = random.nextInt(size);
+                int j = random.nextInt(size);
+
+                long updated = hash.afterSwap(hash.hash(tour), tour, i, j);
+                List<Integer> swapped = new ArrayList<>(tour);
+                Collections.swap(swapped, i, j);
+
+                assertEquals(hash.hash(swapped), updated, "size " + size + ", swap " + i + " and " + j);
+            }
+        }
+    }
+
+    @Test
+    void afterSwapDoesNotModifyTheTour() {
+        TourHash hash = new TourHash(10);
+        List<Integer> tour = randomTour(new Random(2), 10);
+        List<Integer> copy = new ArrayList<>(tour);
+
+        hash.afterSwap(hash.hash(tour), tour, 2, 7);
+
+        assertEquals(copy, tour);
+    }
+
+    @Test
+    void rotationsAndReversalsHaveTheSameHash() {
+        TourHash hash = new TourHash(26);
+        List<Integer> tour = randomTour(new Random(3), 26);
+        long expected = hash.hash(tour);
+        for (int k = 0; k < tour.size(); k++) {
+            List<Integer> rotated = new ArrayList<>(tour);
+            Collections.rotate(rotated, k);
+            assertEquals(expected, hash.hash(rotated));
+            Collections.reverse(rotated);
+            assertEquals(expected, hash.hash(rotated));
+        }
+    }
+
+    @Test
+    void differentToursHaveDifferentHashes() {
+        TourHash hash = new TourHash(26);
+        List<Integer> tour = randomTour(new Random(4), 26);
+        List<Integer> other = new ArrayList<>(tour);
+        Collections.swap(other, 3, 11);
+
+        assertNotEquals(hash.hash(tour), hash.hash(other));
+    }
+
+    @Test
+    void hashesDoNotDependOnTheInstance() {
+        List<Integer> tour = randomTour(new Random(5), 17);
+
+        assertEquals(new TourHash(17).hash(tour), new TourHash(17).applyAsLong(tour));
+    }
+}
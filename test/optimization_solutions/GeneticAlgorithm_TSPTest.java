@@ -0,0 +1,119 @@
+package optimization_solutions;
+
+import core_algorithms.Codec;
+import core_algorithms.EvolutionResult;
+import core_algorithms.FitnessCache;
+import core_algorithms.Individual;
+import optimization_problems.TSP;
+import optimization_problems.TourHash;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeneticAlgorithm_TSPTest {
+
+    @TempDir
+    Path dir;
+
+    //a GA that uses every feature whose state a checkpoint must capture
+    private static GeneticAlgorithm_TSP agent(TSP problem, int maxGen, boolean steadyState) {
+        GeneticAlgorithm_TSP agent = new GeneticAlgorithm_TSP(maxGen, 0.1, 0.2, steadyState, problem);
+        agent.setFitnessCache(new FitnessCache<>(1 << 12, new TourHash(17)));
+        agent.setEliminateDuplicates(true);
+        agent.setAdaptiveMutation(0.9, 0.5);
+        return agent;
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void resumedRunMatchesAnUninterruptedRun(boolean steadyState) {
+        TSP problem = new TSP(17);
+        GeneticAlgorithm_TSP uninterrupted = agent(problem, 40, steadyState);
+        uninterrupted.setSeed(7);
+        EvolutionResult<Integer> expected = uninterrupted.evolve(uninterrupted.generateInitPopulation(100, 17));
+
+        //the same seeded run, stopped after 20 generations...
+        Path checkpoint = dir.resolve("ga.checkpoint");
+        GeneticAlgorithm_TSP first = agent(problem, 20, steadyState);
+        first.setSeed(7);
+        first.setCheckpoint(checkpoint, 3, Codec.INT);
+        assertEquals(20, first.evolve(first.generateInitPopulation(100, 17)).generations());
+        //...and resumed by a new, unseeded GA: the population and random state come from the file
+        GeneticAlgorithm_TSP second = agent(problem, 40, steadyState);
+        second.setCheckpoint(checkpoint, 3, Codec.INT);
+        EvolutionResult<Integer> resumed = second.evolve(List.of());
+
+        assertEquals(expected.generations(), resumed.generations());
+        assertEquals(expected.stopReason(), resumed.stopReason());
+        assertEquals(expected.bestFitnessTrajectory(), resumed.bestFitnessTrajectory());
+        assertEquals(expected.best().getChromosome(), resumed.best().getChromosome());
+    }
+
+    @Test
+    void failedRunClosesItsCheckpointer() throws InterruptedException {
+        //a TSP whose cost() fails after the first few generations
+        TSP problem = new TSP(17) {
+            private int remaining = 1000;
+
+            public double cost(List<Integer> state) {
+                if (--remaining == 0) {
+                    throw new IllegalStateException("cost() failed");
+                }
+                return super.cost(state);
+            }
+        };
+        GeneticAlgorithm_TSP agent = agent(problem, 40, false);
+        agent.setSeed(7);
+        agent.setCheckpoint(dir.resolve("ga.checkpoint"), 1, Codec.INT);
+
+        assertThrows(IllegalStateException.class, () -> agent.evolve(agent.generateInitPopulation(100, 17)));
+
+        long giveUp = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(t -> t.getName().equals("checkpoint-writer"))) {
+            assertTrue(System.nanoTime() - giveUp < 0, "the checkpoint writer is still running");
+            Thread.sleep(1);
+        }
+        assertTrue(Files.exists(dir.resolve("ga.checkpoint")));
+    }
+
+    @Test
+    void checkpointIntervalMustBePositive() {
+        GeneticAlgorithm_TSP agent = agent(new TSP(17), 10, false);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> agent.setCheckpoint(dir.resolve("ga.checkpoint"), 0, Codec.INT));
+    }
+
+    @Test
+    void childrenCarryTheKeyOfTheirTour() {
+        TSP problem = new TSP(17);
+        TourHash hash = new TourHash(17);
+        GeneticAlgorithm_TSP agent = new GeneticAlgorithm_TSP(1, 0.05, 0.2, problem);
+        agent.setFitnessCache(new FitnessCache<>(1 << 10, new TourHash(17)));
+        agent.setSeed(1);
+        List<Individual<Integer>> population = agent.generateInitPopulation(50, 17);
+
+        for (int i = 0; i < population.size(); i++) {
+            Individual<Integer> parent = population.get(i);
+            //mutate() updates the key of its parent with TourHash.afterSwap()
+            Individual<Integer> mutant = agent.mutate(parent);
+            Individual<Integer> child = agent.reproduce(parent, population.get((i + 1) % population.size()));
+            for (Individual<Integer> individual : List.of(parent, mutant, child)) {
+                assertTrue(individual.hasKey());
+                assertEquals(hash.hash(individual.getChromosome()), individual.getKey());
+                assertEquals(1 / problem.cost(individual.getChromosome()), individual.getFitnessScore());
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package solver_service;
+
+import optimization_problems.HeldKarpBound;
+import optimization_problems.TSP;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolverServiceTest {
+    //src/SudokuTestCases/TestCase1.txt
+    private static final String PUZZLE =
+            "003020600900305001001806400008102900700000008006708200002609500800203009005010300";
+
+    private SolverService service;
+    private final ExecutorService clients = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        clients.shutdownNow();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private static double cost(String response) {
+        return Double.parseDouble(response.split(" ")[2]);
+    }
+
+    @Test
+    void malformedRequestsAreErrors() {
+        service = new SolverService(1, 4, 16);
+
+        assertEquals("- ERROR malformed request: SUDOKU", service.handle("SUDOKU"));
+        assertTrue(service.handle("SUDOKU a 1000 123").startsWith("a ERROR"));
+        assertTrue(service.handle("TSP b 1000 7 SA").startsWith("b ERROR"));
+        assertTrue(service.handle("TSP c 1000 26 TABU").startsWith("c ERROR"));
+        assertTrue(service.handle("KNAPSACK d 1000").startsWith("d ERROR"));
+    }
+
+    @Test
+    void jobPastItsDeadlineTimesOut() {
+        service = new SolverService(1, 4, 16);
+
+        assertEquals("t TIMEOUT", service.handle("TSP t 0 26 SA"));
+        assertNull(service.cache.get("TSP 26 SA"));
+    }
+
+    @Test
+    void requestIsBusyWhenTheQueueIsFull() throws Exception {
+        service = new SolverService(1, 1, 16);
+        //one job running and one waiting fill the pool
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(
+                () -> service.handle("TSP a 2000 26 SA"), clients);
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(
+                () -> service.handle("TSP b 2000 26 SA"), clients);
+        long giveUp = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (service.solvers.getActiveCount() + service.solvers.getQueue().size() < 2) {
+            assertTrue(System.nanoTime() < giveUp, "the jobs were never submitted");
+            Thread.sleep(1);
+        }
+
+        assertEquals("c BUSY", service.handle("TSP c 2000 26 SA"));
+        assertTrue(running.get().startsWith("a "));
+        assertTrue(waiting.get().startsWith("b "));
+    }
+
+    @Test
+    void unsolvedSudokuIsNotCached() {
+        service = new SolverService(1, 4, 16);
+
+        //revise() and selectUnassigned() are still stubs, so the search assigns nothing
+        assertTrue(service.handle("SUDOKU s 10000 " + PUZZLE).startsWith("s ERROR"));
+        assertNull(service.cache.get("SUDOKU " + PUZZLE));
+    }
+
+    @Test
+    void tourWithinTheGapIsCachedAndServedAgain() {
+        service = new SolverService(1, 4, 16);
+
+        String first = service.handle("TSP a 30000 5 SA");
+        assertTrue(first.startsWith("a OK "), first);
+        assertNotNull(service.cache.get("TSP 5 SA"));
+        String second = service.handle("TSP b 30000 5 SA");
+
+        assertEquals(first.substring(2), second.substring(2));
+    }
+
+    @Test
+    void tourCutShortByTheDeadlineIsNotCached() {
+        service = new SolverService(1, 4, 16);
+
+        //annealing 26 cities takes several seconds; with one, the best tour is still far off
+        String response = service.handle("TSP a 1000 26 SA");
+
+        assertTrue(response.startsWith("a OK "), response);
+        assertTrue(HeldKarpBound.gap(cost(response), HeldKarpBound.compute(new TSP(26))) > 0.01);
+        assertNull(service.cache.get("TSP 26 SA"));
+    }
+}
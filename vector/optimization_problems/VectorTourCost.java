@@ -0,0 +1,46 @@
+package optimization_problems;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The Vector API version of TourCostKernel.costs(): for each tour, the indices of
+ * SPECIES.length() consecutive edges are computed in one vector, and their distances
+ * are loaded with a single gather.
+ * Only loaded when the jdk.incubator.vector module is present. It lives in its own source
+ * set (vector/), the only one compiled with --add-modules jdk.incubator.vector, and
+ * TourCostKernel finds it reflectively, so the rest of the code builds without the module.
+ * The distances of one chunk are added in int lanes before joining the long total, so
+ * (unlike the scalar loop) a distance must not exceed Integer.MAX_VALUE / SPECIES.length().
+ */
+final class VectorTourCost {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private VectorTourCost() {
+    }
+
+    static void costs(int[] distances, int n, int[] tours, int count, double[] costs) {
+        int lanes = SPECIES.length();
+        int[] edges = new int[lanes];
+        int bound = SPECIES.loopBound(n - 1);
+        for (int t = 0; t < count; t++) {
+            int base = t * n;
+            long total = 0;
+            int i = 0;
+            for (; i < bound; i += lanes) {
+                IntVector from = IntVector.fromArray(SPECIES, tours, base + i);
+                IntVector to = IntVector.fromArray(SPECIES, tours, base + i + 1);
+                from.mul(n).add(to).intoArray(edges, 0);
+                //each chunk is summed in int lanes and added to a long, like the scalar loop
+                total += IntVector.fromArray(SPECIES, distances, 0, edges, 0)
+                        .reduceLanes(VectorOperators.ADD);
+            }
+            for (; i < n - 1; i++) {
+                total += distances[tours[base + i] * n + tours[base + i + 1]];
+            }
+            total += distances[tours[base + n - 1] * n + tours[base]];
+            costs[t] = total;
+        }
+    }
+}